@@ -19,14 +19,23 @@ import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.mobilegiuaky.adapter.PaginationScrollListener;
 import com.example.mobilegiuaky.adapter.PhotoAdapter;
 import com.example.mobilegiuaky.api.ApiClient;
 import com.example.mobilegiuaky.api.ApiService;
+import com.example.mobilegiuaky.api.PhotoPageLoader;
+import com.example.mobilegiuaky.api.PhotoStreamLoader;
+import com.example.mobilegiuaky.api.PhotoSyncManager;
+import com.example.mobilegiuaky.model.BatchDeleteResult;
 import com.example.mobilegiuaky.model.Photo;
+import com.example.mobilegiuaky.model.PhotoBatchRequest;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 import okhttp3.ResponseBody;
 import retrofit2.Call;
@@ -41,6 +50,10 @@ public class AdminActivity extends AppCompatActivity implements PhotoAdapter.OnP
 
     private static final String TAG = "AdminActivity";
 
+    // Photos per batch request (server accepts up to 500)
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_BULK_ADD = 1000;
+
     private RecyclerView recyclerView;
     private PhotoAdapter adapter;
     private ProgressBar progressBar;
@@ -50,6 +63,9 @@ public class AdminActivity extends AppCompatActivity implements PhotoAdapter.OnP
 
     private List<Photo> photoList = new ArrayList<>();
     private ApiService apiService;
+    private PhotoPageLoader pageLoader;
+    private PhotoStreamLoader streamLoader;
+    private PhotoSyncManager syncManager;
     private Handler mainHandler;
     private boolean useBadUpdate = true;
 
@@ -67,6 +83,9 @@ public class AdminActivity extends AppCompatActivity implements PhotoAdapter.OnP
 
         mainHandler = new Handler(Looper.getMainLooper());
         apiService = ApiClient.getApiService();
+        pageLoader = new PhotoPageLoader(apiService);
+        streamLoader = new PhotoStreamLoader(apiService);
+        syncManager = new PhotoSyncManager(apiService);
 
         initViews();
         setupRecyclerView();
@@ -89,11 +108,29 @@ public class AdminActivity extends AppCompatActivity implements PhotoAdapter.OnP
     }
 
     private void setupRecyclerView() {
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
         adapter = new PhotoAdapter(this, photoList);
         adapter.setOnPhotoClickListener(this);
         adapter.setUseBadImplementation(false);
         recyclerView.setAdapter(adapter);
+
+        recyclerView.addOnScrollListener(new PaginationScrollListener(layoutManager) {
+            @Override
+            protected void loadMoreItems() {
+                pageLoader.loadNextPage(pageListener);
+            }
+
+            @Override
+            protected boolean isLoading() {
+                return pageLoader.isLoading();
+            }
+
+            @Override
+            protected boolean hasMorePages() {
+                return pageLoader.hasMore();
+            }
+        });
     }
 
     private void setupListeners() {
@@ -106,7 +143,7 @@ public class AdminActivity extends AppCompatActivity implements PhotoAdapter.OnP
         btnAddPhoto.setOnClickListener(v -> showAddPhotoDialog());
         btnAddMultiple.setOnClickListener(v -> showAddMultipleDialog());
         btnDeleteAll.setOnClickListener(v -> confirmDeleteAll());
-        btnRefresh.setOnClickListener(v -> loadPhotos());
+        btnRefresh.setOnClickListener(v -> syncPhotos());
     }
 
     private void updateStatusText() {
@@ -116,30 +153,75 @@ public class AdminActivity extends AppCompatActivity implements PhotoAdapter.OnP
     private void loadPhotos() {
         progressBar.setVisibility(View.VISIBLE);
         tvStatus.setText("Loading...");
+        pageLoader.loadFirstPage(pageListener);
+    }
+
+    /**
+     * ✅ GOOD: Refresh by delta - merge only the rows changed since the last load
+     */
+    private void syncPhotos() {
+        if (!syncManager.canSync()) {
+            loadPhotos();
+            return;
+        }
 
-        apiService.getPhotos().enqueue(new Callback<List<Photo>>() {
+        progressBar.setVisibility(View.VISIBLE);
+        final long startTime = System.currentTimeMillis();
+        syncManager.sync(photoList, !pageLoader.hasMore(), new PhotoSyncManager.SyncListener() {
             @Override
-            public void onResponse(Call<List<Photo>> call, Response<List<Photo>> response) {
+            public void onSynced(PhotoSyncManager.MergeResult result) {
                 progressBar.setVisibility(View.GONE);
-                if (response.isSuccessful() && response.body() != null) {
-                    photoList.clear();
-                    photoList.addAll(response.body());
+                if (result.hasChanges()) {
                     updateList();
-                    tvPhotoCount.setText("Total: " + photoList.size() + " photos");
-                    updateStatusText();
-                } else {
-                    tvStatus.setText("Error loading");
                 }
+                tvPhotoCount.setText("Total: " + photoList.size() + (pageLoader.hasMore() ? "+" : "") + " photos");
+                tvStatus.setText("✅ Synced " + result + " in " + (System.currentTimeMillis() - startTime) + "ms");
             }
 
             @Override
-            public void onFailure(Call<List<Photo>> call, Throwable t) {
-                progressBar.setVisibility(View.GONE);
-                tvStatus.setText("Error: " + t.getMessage());
+            public void onError(String error) {
+                Log.e(TAG, "Delta sync failed: " + error);
+                loadPhotos();
             }
         });
     }
 
+    private final PhotoPageLoader.PageListener pageListener = new PhotoPageLoader.PageListener() {
+        @Override
+        public void onPageLoaded(List<Photo> photos, boolean firstPage, boolean hasMore) {
+            if (firstPage) {
+                progressBar.setVisibility(View.GONE);
+                photoList.clear();
+                photoList.addAll(photos);
+                updateList();
+                updateStatusText();
+                syncManager.setSince(pageLoader.getServerTime());
+            } else {
+                // Adapter shares photoList, only the new rows need binding
+                int start = photoList.size();
+                photoList.addAll(photos);
+                adapter.notifyItemRangeInserted(start, photos.size());
+            }
+            tvPhotoCount.setText("Total: " + photoList.size() + (hasMore ? "+" : "") + " photos");
+        }
+
+        @Override
+        public void onError(String error, boolean firstPage) {
+            if (firstPage) {
+                progressBar.setVisibility(View.GONE);
+                tvStatus.setText("Error: " + error);
+            } else {
+                Log.e(TAG, "Next page error: " + error);
+            }
+        }
+
+        @Override
+        public void onNotModified() {
+            progressBar.setVisibility(View.GONE);
+            updateStatusText();
+        }
+    };
+
     private void showAddPhotoDialog() {
         View dialogView = getLayoutInflater().inflate(R.layout.dialog_add_photo, null);
         EditText etTitle = dialogView.findViewById(R.id.etTitle);
@@ -168,7 +250,7 @@ public class AdminActivity extends AppCompatActivity implements PhotoAdapter.OnP
 
     private void showAddMultipleDialog() {
         final EditText input = new EditText(this);
-        input.setHint("Number (1-50)");
+        input.setHint("Number (1-" + MAX_BULK_ADD + ")");
         input.setText("10");
 
         new AlertDialog.Builder(this)
@@ -177,7 +259,7 @@ public class AdminActivity extends AppCompatActivity implements PhotoAdapter.OnP
                .setPositiveButton("Add", (dialog, which) -> {
                    try {
                        int count = Integer.parseInt(input.getText().toString().trim());
-                       if (count >= 1 && count <= 50) {
+                       if (count >= 1 && count <= MAX_BULK_ADD) {
                            createMultiplePhotos(count);
                        }
                    } catch (NumberFormatException e) {
@@ -224,39 +306,53 @@ public class AdminActivity extends AppCompatActivity implements PhotoAdapter.OnP
         progressBar.setVisibility(View.VISIBLE);
         tvStatus.setText("⏳ Creating " + count + " photos...");
 
-        final int[] successCount = {0};
-        final int[] failCount = {0};
-        final long startTime = System.currentTimeMillis();
-
+        Random random = new Random();
+        long now = System.currentTimeMillis();
+        List<Photo> newPhotos = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
             Photo newPhoto = new Photo();
             newPhoto.setTitle("Bulk Photo " + (i + 1));
             newPhoto.setDescription("Admin bulk test #" + (i + 1));
-            newPhoto.setImageUrl("https://picsum.photos/800/600?random=" + System.currentTimeMillis() + i);
+            newPhoto.setImageUrl("https://picsum.photos/800/600?random=" + now + i);
             newPhoto.setFileName("bulk_" + i + ".jpg");
-            newPhoto.setFileSizeKb(500 + new Random().nextInt(1500));
-
-            apiService.createPhoto(newPhoto).enqueue(new Callback<Photo>() {
-                @Override
-                public void onResponse(Call<Photo> call, Response<Photo> response) {
-                    if (response.isSuccessful() && response.body() != null) {
-                        successCount[0]++;
-                        photoList.add(0, response.body());
-                    } else {
-                        failCount[0]++;
-                    }
-                    checkBulkComplete(count, successCount[0], failCount[0], startTime);
-                }
+            newPhoto.setFileSizeKb(500 + random.nextInt(1500));
+            newPhotos.add(newPhoto);
+        }
 
-                @Override
-                public void onFailure(Call<Photo> call, Throwable t) {
-                    failCount[0]++;
-                    checkBulkComplete(count, successCount[0], failCount[0], startTime);
-                }
-            });
+        // ✅ GOOD: ceil(count / BATCH_SIZE) requests instead of one request per photo
+        createBatchChunk(newPhotos, 0, new int[]{0}, System.currentTimeMillis());
+    }
 
-            try { Thread.sleep(50); } catch (InterruptedException e) {}
+    /**
+     * Send one chunk, then the next one when it completes (one request in flight)
+     */
+    private void createBatchChunk(List<Photo> photos, int from, int[] successCount, long startTime) {
+        if (from >= photos.size()) {
+            checkBulkComplete(photos.size(), successCount[0], photos.size() - successCount[0], startTime);
+            return;
         }
+
+        int to = Math.min(from + BATCH_SIZE, photos.size());
+        PhotoBatchRequest request = PhotoBatchRequest.create(photos.subList(from, to));
+        apiService.createPhotosBatch(request).enqueue(new Callback<List<Photo>>() {
+            @Override
+            public void onResponse(Call<List<Photo>> call, Response<List<Photo>> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    // Server returns them in creation order, the list is newest first
+                    List<Photo> created = new ArrayList<>(response.body());
+                    Collections.reverse(created);
+                    photoList.addAll(0, created);
+                    successCount[0] += created.size();
+                }
+                createBatchChunk(photos, to, successCount, startTime);
+            }
+
+            @Override
+            public void onFailure(Call<List<Photo>> call, Throwable t) {
+                Log.e(TAG, "Batch create failed: " + t.getMessage());
+                createBatchChunk(photos, to, successCount, startTime);
+            }
+        });
     }
 
     private void checkBulkComplete(int total, int success, int fail, long startTime) {
@@ -283,46 +379,95 @@ public class AdminActivity extends AppCompatActivity implements PhotoAdapter.OnP
 
     private void confirmDeleteAll() {
         if (photoList.isEmpty()) return;
+        if (!pageLoader.hasMore()) {
+            List<Integer> ids = new ArrayList<>(photoList.size());
+            for (Photo photo : photoList) {
+                ids.add(photo.getId());
+            }
+            showDeleteAllDialog(ids);
+            return;
+        }
+
+        // ✅ GOOD: Only some pages are on screen - stream just the ids of the whole catalog
+        // (?fields=id) instead of paging every full row in before deleting
+        progressBar.setVisibility(View.VISIBLE);
+        final List<Integer> ids = new ArrayList<>();
+        streamLoader.load(ApiService.ID_FIELDS, new PhotoStreamLoader.StreamListener() {
+            @Override
+            public void onChunk(List<Photo> photos) {
+                for (Photo photo : photos) {
+                    ids.add(photo.getId());
+                }
+            }
+
+            @Override
+            public void onComplete(int total, String serverTime) {
+                progressBar.setVisibility(View.GONE);
+                if (!ids.isEmpty()) {
+                    showDeleteAllDialog(ids);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                progressBar.setVisibility(View.GONE);
+                tvStatus.setText("❌ Error: " + error);
+            }
+        });
+    }
+
+    private void showDeleteAllDialog(List<Integer> ids) {
         new AlertDialog.Builder(this)
             .setTitle("Delete All?")
-            .setMessage("Delete all " + photoList.size() + " photos?")
-            .setPositiveButton("Delete", (dialog, which) -> deleteAllPhotos())
+            .setMessage("Delete all " + ids.size() + " photos?")
+            .setPositiveButton("Delete", (dialog, which) -> deleteAllPhotos(ids))
             .setNegativeButton("Cancel", null)
             .show();
     }
 
-    private void deleteAllPhotos() {
+    private void deleteAllPhotos(List<Integer> ids) {
         progressBar.setVisibility(View.VISIBLE);
-        List<Photo> photosToDelete = new ArrayList<>(photoList);
-        final int total = photosToDelete.size();
-        final int[] deletedCount = {0};
-        final long startTime = System.currentTimeMillis();
 
-        for (Photo photo : photosToDelete) {
-            apiService.deletePhoto(photo.getId()).enqueue(new Callback<ResponseBody>() {
-                @Override
-                public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
-                    deletedCount[0]++;
-                    if (response.isSuccessful()) photoList.remove(photo);
-                    checkDeleteComplete(total, deletedCount[0], startTime);
-                }
+        // ✅ GOOD: DELETE ... WHERE id IN (...) per chunk instead of one DELETE per photo
+        deleteBatchChunk(ids, 0, new int[]{0}, System.currentTimeMillis());
+    }
 
-                @Override
-                public void onFailure(Call<ResponseBody> call, Throwable t) {
-                    deletedCount[0]++;
-                    checkDeleteComplete(total, deletedCount[0], startTime);
-                }
-            });
+    private void deleteBatchChunk(List<Integer> ids, int from, int[] deletedCount, long startTime) {
+        if (from >= ids.size()) {
+            checkDeleteComplete(ids.size(), deletedCount[0], startTime);
+            return;
         }
+
+        int to = Math.min(from + BATCH_SIZE, ids.size());
+        PhotoBatchRequest request = PhotoBatchRequest.delete(new ArrayList<>(ids.subList(from, to)));
+        apiService.deletePhotosBatch(request).enqueue(new Callback<BatchDeleteResult>() {
+            @Override
+            public void onResponse(Call<BatchDeleteResult> call, Response<BatchDeleteResult> response) {
+                if (response.isSuccessful() && response.body() != null && response.body().getIds() != null) {
+                    Set<Integer> deleted = new HashSet<>(response.body().getIds());
+                    photoList.removeIf(photo -> deleted.contains(photo.getId()));
+                    deletedCount[0] += deleted.size();
+                }
+                deleteBatchChunk(ids, to, deletedCount, startTime);
+            }
+
+            @Override
+            public void onFailure(Call<BatchDeleteResult> call, Throwable t) {
+                Log.e(TAG, "Batch delete failed: " + t.getMessage());
+                deleteBatchChunk(ids, to, deletedCount, startTime);
+            }
+        });
     }
 
     private void checkDeleteComplete(int total, int deleted, long startTime) {
-        if (deleted >= total) {
-            long duration = System.currentTimeMillis() - startTime;
-            progressBar.setVisibility(View.GONE);
-            updateList();
-            tvPhotoCount.setText("Total: " + photoList.size());
-            tvStatus.setText(String.format("✅ Deleted %d in %dms", deleted, duration));
+        long duration = System.currentTimeMillis() - startTime;
+        progressBar.setVisibility(View.GONE);
+        updateList();
+        tvPhotoCount.setText("Total: " + photoList.size());
+        tvStatus.setText(String.format("✅ Deleted %d/%d in %dms", deleted, total, duration));
+        if (pageLoader.hasMore()) {
+            // The feed cursor may point at deleted rows, start it over
+            loadPhotos();
         }
     }
 
@@ -357,6 +502,14 @@ public class AdminActivity extends AppCompatActivity implements PhotoAdapter.OnP
         });
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        pageLoader.cancel();
+        streamLoader.cancel();
+        syncManager.cancel();
+    }
+
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         if (item.getItemId() == android.R.id.home) {
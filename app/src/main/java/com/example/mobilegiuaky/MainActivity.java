@@ -23,19 +23,21 @@ import androidx.core.view.WindowInsetsCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.mobilegiuaky.adapter.PaginationScrollListener;
 import com.example.mobilegiuaky.adapter.PhotoAdapter;
+import com.example.mobilegiuaky.adapter.ScrollPrefetcher;
 import com.example.mobilegiuaky.api.ApiClient;
 import com.example.mobilegiuaky.api.ApiService;
+import com.example.mobilegiuaky.api.PhotoEventStream;
+import com.example.mobilegiuaky.api.PhotoPageLoader;
+import com.example.mobilegiuaky.api.PhotoSyncManager;
 import com.example.mobilegiuaky.model.Photo;
+import com.example.mobilegiuaky.model.PhotoChanges;
 import com.example.mobilegiuaky.utils.HeavyProcessor;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * Main Activity - Photo Gallery with Performance Issues Demo
  * 
@@ -51,6 +53,7 @@ public class MainActivity extends AppCompatActivity {
     // UI Components
     private RecyclerView recyclerView;
     private PhotoAdapter adapter;
+    private ScrollPrefetcher scrollPrefetcher;
     private ProgressBar progressBar;
     private TextView tvStatus;
     private EditText etSearch;
@@ -62,10 +65,18 @@ public class MainActivity extends AppCompatActivity {
     // Data
     private List<Photo> photoList = new ArrayList<>();
     private ApiService apiService;
+    private PhotoPageLoader pageLoader;
+    private PhotoSyncManager syncManager;
+    private PhotoEventStream eventStream;
     private Handler mainHandler;
 
     // Mode
     private boolean useBadImplementation = true;
+    private boolean refreshing = false; // ETag revalidation (refresh / resync fallback) in flight
+    private boolean firstPageLoaded = false; // photoList holds server data (may be an empty catalog)
+    // Pushed while a page is on its way: merged once it lands, so the page cannot overwrite them
+    private final List<PhotoChanges> pendingChanges = new ArrayList<>();
+    private boolean resyncPending = false; // onResync() arrived during a load
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -82,6 +93,9 @@ public class MainActivity extends AppCompatActivity {
         // Initialize
         mainHandler = new Handler(Looper.getMainLooper());
         apiService = ApiClient.getApiService();
+        pageLoader = new PhotoPageLoader(apiService);
+        syncManager = new PhotoSyncManager(apiService);
+        eventStream = new PhotoEventStream(ApiService.LIST_FIELDS);
 
         // Setup UI
         initViews();
@@ -111,9 +125,32 @@ public class MainActivity extends AppCompatActivity {
         adapter = new PhotoAdapter(this, photoList);
         adapter.setUseBadImplementation(useBadImplementation);
 
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
 
+        // ✅ GOOD: Pull the next page while the user scrolls
+        recyclerView.addOnScrollListener(new PaginationScrollListener(layoutManager) {
+            @Override
+            protected void loadMoreItems() {
+                pageLoader.loadNextPage(pageListener);
+            }
+
+            @Override
+            protected boolean isLoading() {
+                return pageLoader.isLoading();
+            }
+
+            @Override
+            protected boolean hasMorePages() {
+                return pageLoader.hasMore();
+            }
+        });
+
+        // ✅ GOOD: Load thumbnails for the rows about to scroll in
+        scrollPrefetcher = new ScrollPrefetcher(layoutManager, adapter);
+        recyclerView.addOnScrollListener(scrollPrefetcher);
+
         // Click listener - open detail
         adapter.setOnPhotoClickListener((photo, position) -> {
             Intent intent = new Intent(MainActivity.this, PhotoDetailActivity.class);
@@ -169,36 +206,158 @@ public class MainActivity extends AppCompatActivity {
         showLoading(true);
         tvStatus.setText("Loading photos...");
 
-        apiService.getPhotos().enqueue(new Callback<List<Photo>>() {
-            @Override
-            public void onResponse(Call<List<Photo>> call, Response<List<Photo>> response) {
-                showLoading(false);
+        // ✅ GOOD: Only the first screen is fetched here, later pages come from scrolling
+        refreshing = false;
+        pageLoader.loadFirstPage(pageListener);
+    }
+
+    /**
+     * ✅ GOOD: Revalidate the list with its ETag - HTTP 304 keeps the current list as is
+     */
+    private void refreshPhotos() {
+        if (pageLoader.isLoading()) return; // A load is already on its way
+        if (!firstPageLoaded) {
+            loadPhotos();
+            return;
+        }
+        refreshing = true;
+        pageLoader.refresh(pageListener);
+    }
 
-                if (response.isSuccessful() && response.body() != null) {
-                    photoList = response.body();
+    /**
+     * ✅ GOOD: Delta sync - only rows changed since the last load are downloaded
+     * and merged into the list we already hold
+     */
+    private void syncPhotos() {
+        if (!syncManager.canSync() || !firstPageLoaded) {
+            refreshPhotos();
+            return;
+        }
+
+        syncManager.sync(photoList, !pageLoader.hasMore(), new PhotoSyncManager.SyncListener() {
+            @Override
+            public void onSynced(PhotoSyncManager.MergeResult result) {
+                Log.d(TAG, "Delta sync: " + result);
+                if (result.hasChanges()) {
                     adapter.updateData(photoList);
                     updateStatusText();
-                    Log.d(TAG, "Loaded " + photoList.size() + " photos");
-                } else {
-                    tvStatus.setText("Error loading photos");
-                    Toast.makeText(MainActivity.this, "Error: " + response.code(), Toast.LENGTH_SHORT).show();
-                    
-                    // Load demo data if API fails
-                    loadDemoData();
                 }
             }
 
             @Override
-            public void onFailure(Call<List<Photo>> call, Throwable t) {
+            public void onError(String error) {
+                Log.e(TAG, "Delta sync failed: " + error + " - falling back to refresh");
+                refreshPhotos();
+            }
+        });
+    }
+
+    /**
+     * ✅ GOOD: Changes pushed by the server are merged into the list as they happen
+     */
+    private final PhotoEventStream.EventListener eventListener = new PhotoEventStream.EventListener() {
+        @Override
+        public void onChanges(PhotoChanges changes) {
+            pendingChanges.add(changes);
+            if (pageLoader.isLoading() || !firstPageLoaded) return; // Merged when the page lands
+
+            if (mergePendingChanges()) {
+                adapter.updateData(photoList);
+                updateStatusText();
+            }
+        }
+
+        @Override
+        public void onResync() {
+            // Events may have been missed (first connect, server restart, no stream)
+            if (pageLoader.isLoading()) {
+                resyncPending = true; // Its sync point is only known once the page lands
+                return;
+            }
+            syncPhotos();
+        }
+    };
+
+    /**
+     * Apply the pushed changes held back during a load; true when the list changed.
+     * Changes older than the page are harmless - merging is by id and events arrive in order.
+     */
+    private boolean mergePendingChanges() {
+        if (pendingChanges.isEmpty()) return false;
+        if (!firstPageLoaded) {
+            pendingChanges.clear(); // No server list to merge into - the next first page has them
+            return false;
+        }
+
+        boolean changed = false;
+        for (PhotoChanges changes : pendingChanges) {
+            PhotoSyncManager.MergeResult result =
+                    PhotoSyncManager.merge(photoList, changes, !pageLoader.hasMore());
+            Log.d(TAG, "Pushed changes: " + result);
+            changed |= result.hasChanges();
+        }
+        pendingChanges.clear();
+        return changed;
+    }
+
+    // After a load settled: catch up on what was held back while it ran
+    private void onLoadSettled() {
+        if (mergePendingChanges()) {
+            adapter.updateData(photoList);
+            updateStatusText();
+        }
+        if (resyncPending) {
+            resyncPending = false;
+            if (firstPageLoaded) syncPhotos(); // After a failed first load there is nothing to sync
+        }
+    }
+
+    private final PhotoPageLoader.PageListener pageListener = new PhotoPageLoader.PageListener() {
+        @Override
+        public void onPageLoaded(List<Photo> photos, boolean firstPage, boolean hasMore) {
+            if (firstPage) {
+                refreshing = false;
+                firstPageLoaded = true;
+                showLoading(false);
+                photoList = new ArrayList<>(photos);
+                mergePendingChanges(); // Before the adapter sees the page: one rebuild
+                adapter.updateData(photoList);
+                syncManager.setSince(pageLoader.getServerTime());
+            } else {
+                photoList.addAll(photos);
+                adapter.appendData(photos);
+            }
+            updateStatusText();
+            Log.d(TAG, "Loaded page of " + photos.size() + " photos (total " + photoList.size()
+                    + ", more: " + hasMore + ")");
+            onLoadSettled();
+        }
+
+        @Override
+        public void onError(String error, boolean firstPage) {
+            Log.e(TAG, "API Error: " + error);
+            if (firstPage && refreshing) {
+                // Keep showing what we already have
+                refreshing = false;
+            } else if (firstPage) {
                 showLoading(false);
-                Log.e(TAG, "API Error: " + t.getMessage());
                 tvStatus.setText("Connection error - Loading demo data");
-                
-                // Load demo data
+                Toast.makeText(MainActivity.this, "Error: " + error, Toast.LENGTH_SHORT).show();
+
+                // Load demo data if API fails
                 loadDemoData();
             }
-        });
-    }
+            onLoadSettled();
+        }
+
+        @Override
+        public void onNotModified() {
+            // ✅ GOOD: Nothing changed - no parsing, no adapter rebuild
+            refreshing = false;
+            Log.d(TAG, "Photos not modified (HTTP 304), keeping " + photoList.size() + " photos");
+            onLoadSettled();
+        }
+    };
 
     /**
      * Load demo data when API is not available
@@ -310,14 +469,27 @@ public class MainActivity extends AppCompatActivity {
         tvStatus.setText(mode + " | Photos: " + photoList.size());
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        pageLoader.cancel();
+        syncManager.cancel();
+    }
+
     /**
-     * 🔄 REAL-TIME SYNC: Auto-refresh khi app resume
-     * Để sync với thay đổi từ Admin app
+     * 🔄 REAL-TIME SYNC: Server đẩy thay đổi từ Admin app qua SSE khi màn hình hiển thị
+     * ✅ Không tải lại khi resume: sự kiện bị lỡ được phát lại, nếu không thì delta sync một lần
      */
     @Override
-    protected void onResume() {
-        super.onResume();
-        Log.d(TAG, "onResume - Auto refreshing data...");
-        loadPhotos();  // Reload từ server để sync với Admin app
+    protected void onStart() {
+        super.onStart();
+        eventStream.start(eventListener);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        eventStream.stop();
+        scrollPrefetcher.cancelAll();
     }
 }
@@ -2,6 +2,10 @@ package com.example.mobilegiuaky;
 
 import android.app.Application;
 
+import com.example.mobilegiuaky.api.ApiClient;
+import com.example.mobilegiuaky.utils.BitmapCache;
+import com.example.mobilegiuaky.utils.BitmapPool;
+
 /**
  * Custom Application class
  * LeakCanary will be automatically initialized in debug builds
@@ -11,7 +15,20 @@ public class MyApplication extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
+        // Shared HTTP engine with on-disk response cache
+        ApiClient.init(this);
+        // Memory + disk cache for downloaded images
+        BitmapCache.init(this);
+        
         // LeakCanary is auto-initialized via ContentProvider in debug builds
         // No manual initialization needed for LeakCanary 2.x
     }
+    
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // ✅ GOOD: Give decoded bitmaps back when the system runs low on memory
+        BitmapCache.trimMemory(level);
+        BitmapPool.trimMemory(level);
+    }
 }
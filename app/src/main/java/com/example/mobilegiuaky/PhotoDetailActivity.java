@@ -20,11 +20,18 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.bumptech.glide.Glide;
+import com.example.mobilegiuaky.api.ApiClient;
 import com.example.mobilegiuaky.model.Photo;
+import com.example.mobilegiuaky.utils.BitmapDecoder;
 import com.example.mobilegiuaky.utils.ImageDownloader;
+import com.example.mobilegiuaky.utils.ImageUrlBuilder;
 import com.example.mobilegiuaky.utils.OptimizedImageDownloader;
 import com.example.mobilegiuaky.utils.LeakyManager;
 
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
 /**
  * Photo Detail Activity - Demonstrates Memory Leaks and Main Thread Blocking
  * 
@@ -53,6 +60,7 @@ public class PhotoDetailActivity extends AppCompatActivity implements LeakyManag
     // Data
     private Photo photo;
     private Handler mainHandler;
+    private Call<Photo> detailCall;
 
     // ⚠️ Memory Leak flags
     private boolean leakModeEnabled = true;
@@ -77,6 +85,7 @@ public class PhotoDetailActivity extends AppCompatActivity implements LeakyManag
         initViews();
         setupListeners();
         displayPhotoData();
+        loadFullPhotoIfNeeded();
 
         // ⚠️ BUG: Initialize LeakyManager with Activity Context (causes LEAK)
         if (leakModeEnabled) {
@@ -127,19 +136,62 @@ public class PhotoDetailActivity extends AppCompatActivity implements LeakyManag
             return;
         }
 
-        tvTitle.setText(photo.getTitle());
-        tvDescription.setText(photo.getDescription());
-        tvFileInfo.setText(String.format("File: %s | Size: %d KB", 
-                photo.getFileName(), photo.getFileSizeKb()));
+        displayPhotoText();
 
-        // Load image with Glide
+        // Load image with Glide - a variant sized for ivPhotoLarge (full width x 250dp)
+        String imageUrl = ImageUrlBuilder.forSize(photo.getImageUrl(),
+                BitmapDecoder.screenWidth(), BitmapDecoder.dpToPx(250));
         Glide.with(this)
-                .load(photo.getImageUrl())
+                .load(imageUrl)
                 .placeholder(R.drawable.ic_launcher_foreground)
                 .error(R.drawable.ic_launcher_foreground)
                 .into(ivPhotoLarge);
     }
 
+    private void displayPhotoText() {
+        tvTitle.setText(photo.getTitle());
+        tvDescription.setText(photo.getListDescription());
+        if (photo.getFileName() != null) {
+            tvFileInfo.setText(String.format("File: %s | Size: %d KB", 
+                    photo.getFileName(), photo.getFileSizeKb()));
+        } else {
+            tvFileInfo.setText(String.format("Size: %d KB", photo.getFileSizeKb()));
+        }
+    }
+
+    /**
+     * ✅ GOOD: The list only carries slim rows (ApiService.LIST_FIELDS).
+     * Fetch the full record for the one photo that was opened, showing the
+     * list data until it arrives.
+     */
+    private void loadFullPhotoIfNeeded() {
+        if (photo == null || photo.hasDetails()) {
+            return;
+        }
+
+        detailCall = ApiClient.getApiService().getPhotoById(photo.getId());
+        detailCall.enqueue(new Callback<Photo>() {
+            @Override
+            public void onResponse(Call<Photo> call, Response<Photo> response) {
+                detailCall = null;
+                if (isDestroyed() || isFinishing()) return;
+                if (response.isSuccessful() && response.body() != null) {
+                    photo = response.body();
+                    displayPhotoText(); // Image URL is unchanged - no reload
+                } else {
+                    Log.w(TAG, "Photo details not loaded: HTTP " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<Photo> call, Throwable t) {
+                if (call.isCanceled()) return;
+                detailCall = null;
+                Log.w(TAG, "Photo details not loaded: " + t.getMessage());
+            }
+        });
+    }
+
     /**
      * ⚠️ BUG INTENTIONAL - MEMORY LEAK
      * 
@@ -207,53 +259,59 @@ public class PhotoDetailActivity extends AppCompatActivity implements LeakyManag
         tvStatus.setText("✅ Downloading on BACKGROUND THREAD...");
         progressBar.setVisibility(View.VISIBLE);
 
-        ImageDownloader.downloadOnBackgroundThread(photo.getImageUrl(), 
-            new ImageDownloader.OnDownloadCompleteListener() {
+        // ✅ GOOD: Decode for ivPhotoLarge (full width x 250dp), not the original size
+        int targetWidth = ivPhotoLarge.getWidth() > 0 ? ivPhotoLarge.getWidth() : BitmapDecoder.screenWidth();
+        int targetHeight = ivPhotoLarge.getHeight() > 0 ? ivPhotoLarge.getHeight() : BitmapDecoder.dpToPx(250);
+        OptimizedImageDownloader.downloadImage(photo.getImageUrl(), targetWidth, targetHeight, false,
+            new OptimizedImageDownloader.DownloadCallback() {
                 @Override
                 public void onSuccess(Bitmap bitmap) {
-                    mainHandler.post(() -> {
-                        if (!isDestroyed() && !isFinishing()) {
-                            ivPhotoLarge.setImageBitmap(bitmap);
-                            // Save to Downloads using OptimizedImageDownloader
-                            String fileName = "downloaded_" + photo.getId() + ".jpg";
-                            OptimizedImageDownloader.downloadAndSave(PhotoDetailActivity.this, photo.getImageUrl(), fileName,
-                                    new OptimizedImageDownloader.DownloadAndSaveCallback() {
-                                        @Override
-                                        public void onComplete(Bitmap bm, String filePath) {
-                                            if (!isDestroyed() && !isFinishing()) {
-                                                progressBar.setVisibility(View.GONE);
-                                                tvStatus.setText("✅ Downloaded & saved: " + fileName);
-                                                Toast.makeText(PhotoDetailActivity.this,
-                                                        "Saved to Downloads: " + fileName, Toast.LENGTH_SHORT).show();
-                                            }
-                                        }
-
-                                        @Override
-                                        public void onError(String error) {
-                                            if (!isDestroyed() && !isFinishing()) {
-                                                progressBar.setVisibility(View.GONE);
-                                                tvStatus.setText("Save error: " + error);
-                                                Toast.makeText(PhotoDetailActivity.this,
-                                                        "Save error: " + error, Toast.LENGTH_SHORT).show();
-                                            }
-                                        }
-                                    });
-                        }
-                    });
+                    if (!isDestroyed() && !isFinishing()) {
+                        ivPhotoLarge.setImageBitmap(bitmap);
+                    }
                 }
 
                 @Override
                 public void onError(String error) {
-                    mainHandler.post(() -> {
+                    if (!isDestroyed() && !isFinishing()) {
+                        tvStatus.setText("Download error: " + error);
+                    }
+                }
+
+                @Override
+                public void onProgress(long bytesDone, long totalBytes) {
+                    // ✅ GOOD: Large originals resume after a dropped connection - show how far along
+                    if (!isDestroyed() && !isFinishing() && totalBytes > 0) {
+                        tvStatus.setText("✅ Downloading on BACKGROUND THREAD... "
+                                + (bytesDone * 100 / totalBytes) + "%");
+                    }
+                }
+            });
+
+        // ✅ GOOD: Save at the same time - both share one network transfer (BitmapCache)
+        String fileName = "downloaded_" + photo.getId() + ".jpg";
+        OptimizedImageDownloader.downloadAndSave(this, photo.getImageUrl(), fileName,
+                new OptimizedImageDownloader.DownloadAndSaveCallback() {
+                    @Override
+                    public void onComplete(String filePath) {
                         if (!isDestroyed() && !isFinishing()) {
                             progressBar.setVisibility(View.GONE);
-                            tvStatus.setText("Download error: " + error);
-                            Toast.makeText(PhotoDetailActivity.this, 
-                                    "Error: " + error, Toast.LENGTH_SHORT).show();
+                            tvStatus.setText("✅ Downloaded & saved: " + fileName);
+                            Toast.makeText(PhotoDetailActivity.this,
+                                    "Saved to Downloads: " + fileName, Toast.LENGTH_SHORT).show();
                         }
-                    });
-                }
-            });
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        if (!isDestroyed() && !isFinishing()) {
+                            progressBar.setVisibility(View.GONE);
+                            tvStatus.setText("Save error: " + error);
+                            Toast.makeText(PhotoDetailActivity.this,
+                                    "Save error: " + error, Toast.LENGTH_SHORT).show();
+                        }
+                    }
+                });
     }
 
     /**
@@ -272,6 +330,11 @@ public class PhotoDetailActivity extends AppCompatActivity implements LeakyManag
     protected void onDestroy() {
         super.onDestroy();
         
+        if (detailCall != null) {
+            detailCall.cancel();
+            detailCall = null;
+        }
+        
         // ⚠️ BUG: We intentionally DON'T cleanup to demonstrate leak
         // In real code, you should call:
         // LeakyManager.getInstance().cleanup();
@@ -0,0 +1,36 @@
+package com.example.mobilegiuaky.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * ✅ GOOD: Asks for the next page when the user scrolls close to the end of the list
+ */
+public abstract class PaginationScrollListener extends RecyclerView.OnScrollListener {
+    
+    // Start loading when this many rows are left below the last visible one
+    private static final int LOAD_THRESHOLD = 5;
+    
+    private final LinearLayoutManager layoutManager;
+    
+    public PaginationScrollListener(LinearLayoutManager layoutManager) {
+        this.layoutManager = layoutManager;
+    }
+    
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy <= 0 || isLoading() || !hasMorePages()) return;
+        
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (lastVisible >= layoutManager.getItemCount() - LOAD_THRESHOLD) {
+            loadMoreItems();
+        }
+    }
+    
+    protected abstract void loadMoreItems();
+    
+    protected abstract boolean isLoading();
+    
+    protected abstract boolean hasMorePages();
+}
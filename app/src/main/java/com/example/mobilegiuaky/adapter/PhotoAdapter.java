@@ -2,7 +2,6 @@ package com.example.mobilegiuaky.adapter;
 
 import android.content.Context;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -14,17 +13,24 @@ import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.example.mobilegiuaky.R;
+import com.example.mobilegiuaky.api.ApiClient;
 import com.example.mobilegiuaky.model.Photo;
+import com.example.mobilegiuaky.utils.BitmapCache;
+import com.example.mobilegiuaky.utils.BitmapDecoder;
+import com.example.mobilegiuaky.utils.BitmapPool;
 import com.example.mobilegiuaky.utils.HeavyProcessor;
+import com.example.mobilegiuaky.utils.ImageRequestScheduler;
+import com.example.mobilegiuaky.utils.ImageUrlBuilder;
+import com.example.mobilegiuaky.utils.InvertedIndex;
+import com.example.mobilegiuaky.utils.OptimizedImageDownloader;
 
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 
+import okhttp3.Request;
+import okhttp3.Response;
+
 /**
  * ⚠️ BUG INTENTIONAL - JANK/LAG IN RECYCLERVIEW ⚠️
  * 
@@ -36,11 +42,16 @@ import java.util.List;
 public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHolder> {
     
     private static final String TAG = "PhotoAdapter";
+    private static final int THUMBNAIL_SIZE_DP = 100; // ivPhoto in item_photo.xml
     
     private List<Photo> photoList;
     private List<Photo> originalList; // For search/filter
+    private boolean filtered = false; // photoList currently shows search results
+    private String currentQuery = ""; // Re-applied when the data changes underneath it
+    private final PhotoSearchIndex searchIndex = new PhotoSearchIndex(); // For searchGood
     private Context context;
     private OnPhotoClickListener listener;
+    private final int thumbnailSizePx = BitmapDecoder.dpToPx(THUMBNAIL_SIZE_DP);
     
     // ⚠️ Toggle this to switch between BAD and GOOD implementation
     private boolean useBadImplementation = true;
@@ -53,6 +64,7 @@ public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHol
         this.context = context;
         this.photoList = photoList != null ? photoList : new ArrayList<>();
         this.originalList = new ArrayList<>(this.photoList);
+        searchIndex.setPhotos(this.originalList);
     }
     
     public void setOnPhotoClickListener(OnPhotoClickListener listener) {
@@ -93,9 +105,11 @@ public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHol
      * ⚠️ BAD IMPLEMENTATION - Causes JANK/LAG
      */
     private void bindViewHolderBad(PhotoViewHolder holder, Photo photo) {
+        releaseOwnedBitmap(holder); // Its pixels can be reused for this row's decode
+        
         // Set text
         holder.tvTitle.setText(photo.getTitle());
-        holder.tvDescription.setText(photo.getDescription());
+        holder.tvDescription.setText(photo.getListDescription());
         holder.tvFileSize.setText(photo.getFileSizeKb() + " KB");
         
         // ⚠️ BUG 1: Heavy string processing on MAIN THREAD
@@ -115,7 +129,12 @@ public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHol
                 if (bitmap != null) {
                     // ⚠️ BUG 4: Heavy image processing on main thread
                     Bitmap processed = HeavyProcessor.heavyImageProcessing(bitmap);
-                    holder.ivPhoto.setImageBitmap(processed != null ? processed : bitmap);
+                    if (processed != null && processed != bitmap) {
+                        BitmapPool.put(bitmap); // ✅ The decoded original is not shown anywhere
+                        bitmap = processed;
+                    }
+                    holder.ivPhoto.setImageBitmap(bitmap);
+                    holder.ownedBitmap = bitmap;
                 } else {
                     holder.ivPhoto.setImageResource(R.drawable.ic_launcher_foreground);
                 }
@@ -136,44 +155,114 @@ public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHol
      * ✅ GOOD IMPLEMENTATION - Smooth scrolling
      */
     private void bindViewHolderGood(PhotoViewHolder holder, Photo photo) {
+        releaseOwnedBitmap(holder); // Left over from the BAD mode
+        cancelImageRequest(holder); // This holder showed another row before
+        
         // Set text directly (no heavy processing)
         holder.tvTitle.setText(photo.getTitle());
-        holder.tvDescription.setText(photo.getDescription());
+        holder.tvDescription.setText(photo.getListDescription());
         holder.tvFileSize.setText(photo.getFileSizeKb() + " KB");
         
-        // ✅ Use Glide for efficient image loading
-        Glide.with(context)
-                .load(photo.getImageUrl())
-                .placeholder(R.drawable.ic_launcher_foreground)
-                .error(R.drawable.ic_launcher_foreground)
-                .centerCrop()
-                .into(holder.ivPhoto);
+        if (photo.getImageUrl() == null || photo.getImageUrl().isEmpty()) {
+            holder.ivPhoto.setImageResource(R.drawable.ic_launcher_foreground);
+            return;
+        }
+        String imageUrl = thumbnailUrl(photo);
+        
+        // ✅ Memory hit: set it right away, no placeholder flash
+        Bitmap cached = BitmapCache.peek(imageUrl, thumbnailSizePx, thumbnailSizePx, true);
+        if (cached != null) {
+            holder.ivPhoto.setImageBitmap(cached);
+            return;
+        }
+        
+        // ✅ Visible priority, newest first; cancelled when the row is recycled
+        holder.ivPhoto.setImageResource(R.drawable.ic_launcher_foreground);
+        holder.imageRequest = OptimizedImageDownloader.downloadImage(imageUrl,
+                thumbnailSizePx, thumbnailSizePx, true, ImageRequestScheduler.PRIORITY_VISIBLE,
+                new OptimizedImageDownloader.DownloadCallback() {
+                    @Override
+                    public void onSuccess(Bitmap bitmap) {
+                        holder.imageRequest = null;
+                        holder.ivPhoto.setImageBitmap(bitmap);
+                    }
+                    
+                    @Override
+                    public void onError(String error) {
+                        holder.imageRequest = null;
+                        holder.ivPhoto.setImageResource(R.drawable.ic_launcher_foreground);
+                    }
+                });
+    }
+    
+    /**
+     * ✅ GOOD: Smallest server-side variant that covers the 100dp card, not the 800x600 original
+     * (bind and prefetch must agree on it - it is the cache key)
+     */
+    private String thumbnailUrl(Photo photo) {
+        return ImageUrlBuilder.forSize(photo.getImageUrl(), thumbnailSizePx, thumbnailSizePx);
+    }
+    
+    /**
+     * ✅ GOOD: Warm the cache for a row that is about to scroll in (see ScrollPrefetcher)
+     * 
+     * @return handle to cancel the request, or null when there is nothing to load
+     */
+    ImageRequestScheduler.Handle prefetchImage(int position, OptimizedImageDownloader.DownloadCallback callback) {
+        // BAD mode downloads on bind and ignores the cache - nothing to warm
+        if (useBadImplementation || position < 0 || position >= photoList.size()) return null;
+        
+        Photo photo = photoList.get(position);
+        if (photo.getImageUrl() == null || photo.getImageUrl().isEmpty()) return null;
+        
+        String imageUrl = thumbnailUrl(photo);
+        if (BitmapCache.contains(imageUrl, thumbnailSizePx, thumbnailSizePx, true)) return null;
+        return OptimizedImageDownloader.downloadImage(imageUrl, thumbnailSizePx, thumbnailSizePx, true,
+                ImageRequestScheduler.PRIORITY_PREFETCH, callback);
     }
     
     /**
      * ⚠️ BAD: Synchronous image download on calling thread
+     * (the decode itself is thumbnail-sized, RGB_565 for JPEG - ~8x less memory than full size)
      */
     private Bitmap downloadImageSync(String imageUrl) {
-        try {
-            URL url = new URL(imageUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setDoInput(true);
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-            connection.connect();
-            
-            InputStream input = connection.getInputStream();
-            Bitmap bitmap = BitmapFactory.decodeStream(input);
-            input.close();
-            connection.disconnect();
-            
-            return bitmap;
+        try (Response response = ApiClient.getHttpClient().newCall(
+                new Request.Builder().url(imageUrl).build()).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                return null;
+            }
+            byte[] bytes = response.body().bytes();
+            return BitmapDecoder.decode(bytes, thumbnailSizePx, thumbnailSizePx, true);
         } catch (Exception e) {
             Log.e(TAG, "Download error: " + e.getMessage());
             return null;
         }
     }
     
+    @Override
+    public void onViewRecycled(@NonNull PhotoViewHolder holder) {
+        super.onViewRecycled(holder);
+        cancelImageRequest(holder); // ✅ Off screen: do not spend bandwidth/CPU on it
+        releaseOwnedBitmap(holder);
+    }
+    
+    private void cancelImageRequest(PhotoViewHolder holder) {
+        if (holder.imageRequest != null) {
+            holder.imageRequest.cancel();
+            holder.imageRequest = null;
+        }
+    }
+    
+    /**
+     * ✅ GOOD: A bitmap decoded for this row only goes back to BitmapPool once off screen
+     */
+    private void releaseOwnedBitmap(PhotoViewHolder holder) {
+        if (holder.ownedBitmap == null) return;
+        holder.ivPhoto.setImageDrawable(null); // Must not draw it while it is reused
+        BitmapPool.put(holder.ownedBitmap);
+        holder.ownedBitmap = null;
+    }
+    
     @Override
     public int getItemCount() {
         return photoList != null ? photoList.size() : 0;
@@ -183,8 +272,10 @@ public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHol
      * ⚠️ BAD: Inefficient search implementation
      */
     public void searchBad(String query) {
+        currentQuery = query != null ? query : "";
         if (query == null || query.isEmpty()) {
             photoList = new ArrayList<>(originalList);
+            filtered = false;
             notifyDataSetChanged();
             return;
         }
@@ -197,7 +288,7 @@ public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHol
             for (Photo photo : originalList) {
                 // ⚠️ BAD: Creating new strings in loop
                 String title = photo.getTitle().toLowerCase();
-                String desc = photo.getDescription().toLowerCase();
+                String desc = photo.getListDescription().toLowerCase();
                 String q = query.toLowerCase();
                 
                 // ⚠️ BAD: Heavy processing for each item
@@ -212,30 +303,47 @@ public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHol
         }
         
         photoList = filteredList;
+        filtered = true;
         notifyDataSetChanged();
     }
     
     /**
      * ✅ GOOD: Efficient search implementation
+     * 
+     * Looks the query up in the inverted index (built off the main thread): every
+     * word of the query must start a word of the title or description, so typing
+     * "sun bea" finds "Sunset Beach". Cost follows the number of matches, not the
+     * catalog size. While the index is catching up with the list, a scan applies
+     * the same word-prefix rule (InvertedIndex.matches), so results never depend on timing.
      */
     public void searchGood(String query) {
+        currentQuery = query != null ? query : "";
         if (query == null || query.isEmpty()) {
             photoList = new ArrayList<>(originalList);
+            filtered = false;
+            notifyDataSetChanged();
+            return;
+        }
+        
+        List<Photo> matches = searchIndex.search(query);
+        if (matches != null) {
+            photoList = matches;
+            filtered = true;
             notifyDataSetChanged();
             return;
         }
         
-        String lowerQuery = query.toLowerCase();
+        String[] queryTokens = InvertedIndex.queryTokens(query);
         List<Photo> filteredList = new ArrayList<>();
         
         for (Photo photo : originalList) {
-            if (photo.getTitle().toLowerCase().contains(lowerQuery) ||
-                photo.getDescription().toLowerCase().contains(lowerQuery)) {
+            if (InvertedIndex.matches(queryTokens, photo.getTitle(), photo.getListDescription())) {
                 filteredList.add(photo);
             }
         }
         
         photoList = filteredList;
+        filtered = true;
         notifyDataSetChanged();
     }
     
@@ -267,10 +375,36 @@ public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHol
         notifyDataSetChanged();
     }
     
+    /**
+     * Replace the data (new first page, merged sync/push changes); an active search stays applied
+     */
     public void updateData(List<Photo> newPhotos) {
-        this.photoList = newPhotos != null ? newPhotos : new ArrayList<>();
+        this.photoList = newPhotos != null ? new ArrayList<>(newPhotos) : new ArrayList<>();
         this.originalList = new ArrayList<>(this.photoList);
-        notifyDataSetChanged();
+        this.filtered = false;
+        searchIndex.setPhotos(this.originalList);
+        if (currentQuery.isEmpty()) {
+            notifyDataSetChanged();
+        } else if (useBadImplementation) {
+            searchBad(currentQuery);
+        } else {
+            searchGood(currentQuery);
+        }
+    }
+    
+    /**
+     * ✅ GOOD: Append the next page without rebinding the rows already on screen
+     */
+    public void appendData(List<Photo> morePhotos) {
+        if (morePhotos == null || morePhotos.isEmpty()) return;
+        
+        originalList.addAll(morePhotos);
+        searchIndex.addPhotos(morePhotos);
+        if (filtered) return; // Shown again when the search is cleared
+        
+        int start = photoList.size();
+        photoList.addAll(morePhotos);
+        notifyItemRangeInserted(start, morePhotos.size());
     }
     
     static class PhotoViewHolder extends RecyclerView.ViewHolder {
@@ -279,6 +413,8 @@ public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHol
         TextView tvTitle;
         TextView tvDescription;
         TextView tvFileSize;
+        Bitmap ownedBitmap; // Decoded for this row (BAD mode), not shared with any cache
+        ImageRequestScheduler.Handle imageRequest; // Pending thumbnail load (GOOD mode)
         
         public PhotoViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -0,0 +1,132 @@
+package com.example.mobilegiuaky.adapter;
+
+import android.util.Log;
+
+import com.example.mobilegiuaky.model.Photo;
+import com.example.mobilegiuaky.utils.InvertedIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ GOOD: Search index over the adapter's photos, kept up to date off the main thread
+ *
+ * Titles and list descriptions go into an InvertedIndex on one background thread,
+ * in the order the lists were handed over. A new list is diffed against what is
+ * already indexed: only added, changed or removed photos touch the index, so a
+ * delta sync or a pushed change costs as much as the change itself.
+ *
+ * search() returns null while a list handed to setPhotos() is still being indexed;
+ * callers fall back to scanning in the meantime.
+ */
+class PhotoSearchIndex {
+
+    private static final String TAG = "PhotoSearchIndex";
+
+    // One thread: updates must be applied in the order they were made
+    private static final ExecutorService indexer = Executors.newSingleThreadExecutor();
+
+    private final InvertedIndex index = new InvertedIndex();
+    // Written on the indexer thread, read on the main thread
+    private final Map<Integer, Photo> photosById = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> positionById = new ConcurrentHashMap<>(); // Feed order of results
+    private final AtomicInteger pendingLists = new AtomicInteger(); // setPhotos()/addPhotos() calls not applied yet
+    private int nextPosition; // Indexer thread only
+
+    /**
+     * Index the adapter's whole list (updateData)
+     */
+    void setPhotos(List<Photo> photos) {
+        List<Photo> snapshot = new ArrayList<>(photos);
+        pendingLists.incrementAndGet();
+        indexer.execute(() -> {
+            long start = System.nanoTime();
+            Map<Integer, Photo> current = new HashMap<>(snapshot.size() * 2);
+            int changed = 0;
+            for (int i = 0; i < snapshot.size(); i++) {
+                Photo photo = snapshot.get(i);
+                current.put(photo.getId(), photo);
+                positionById.put(photo.getId(), i);
+                if (index(photo)) changed++;
+            }
+
+            int removed = 0;
+            for (Integer id : new ArrayList<>(photosById.keySet())) {
+                if (!current.containsKey(id)) {
+                    index.remove(id);
+                    photosById.remove(id);
+                    positionById.remove(id);
+                    removed++;
+                }
+            }
+            nextPosition = snapshot.size();
+            pendingLists.decrementAndGet();
+            Log.d(TAG, "Indexed " + snapshot.size() + " photos (" + changed + " changed, " + removed
+                    + " removed) in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+        });
+    }
+
+    /**
+     * Index a page appended after the current list (appendData)
+     */
+    void addPhotos(List<Photo> photos) {
+        List<Photo> snapshot = new ArrayList<>(photos);
+        pendingLists.incrementAndGet();
+        indexer.execute(() -> {
+            for (Photo photo : snapshot) {
+                positionById.put(photo.getId(), nextPosition++);
+                index(photo);
+            }
+            pendingLists.decrementAndGet();
+        });
+    }
+
+    /**
+     * Photos with a word starting with each word of the query, in list order;
+     * null while the index is behind the adapter's list
+     */
+    List<Photo> search(String query) {
+        if (pendingLists.get() > 0) return null;
+
+        int[] ids = index.search(query);
+        Photo[] matches = new Photo[ids.length];
+        // position << 32 | match: read positions once, the indexer may move them meanwhile
+        long[] order = new long[ids.length];
+        int count = 0;
+        for (int id : ids) {
+            Photo photo = photosById.get(id);
+            if (photo == null) continue; // Removed by an update that is still running
+            Integer position = positionById.get(id);
+            matches[count] = photo;
+            order[count] = (long) (position != null ? position : Integer.MAX_VALUE) << 32 | count;
+            count++;
+        }
+        Arrays.sort(order, 0, count);
+
+        List<Photo> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(matches[(int) order[i]]);
+        }
+        return result;
+    }
+
+    // Re-index only when the searchable text differs from what is indexed
+    private boolean index(Photo photo) {
+        Photo previous = photosById.put(photo.getId(), photo);
+        if (previous != null
+                && Objects.equals(previous.getTitle(), photo.getTitle())
+                && Objects.equals(previous.getListDescription(), photo.getListDescription())) {
+            return false;
+        }
+        index.put(photo.getId(), photo.getTitle(), photo.getListDescription());
+        return true;
+    }
+}
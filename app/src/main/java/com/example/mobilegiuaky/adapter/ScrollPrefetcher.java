@@ -0,0 +1,131 @@
+package com.example.mobilegiuaky.adapter;
+
+import android.graphics.Bitmap;
+import android.os.SystemClock;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.mobilegiuaky.utils.ImageRequestScheduler;
+import com.example.mobilegiuaky.utils.OptimizedImageDownloader;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * ✅ GOOD: Loads thumbnails for the rows about to scroll in, before they bind
+ *
+ * Rows ahead of the scroll direction are requested at PREFETCH priority, so they
+ * never delay a visible row. How far ahead depends on the scroll speed
+ * (a fling warms more rows than a slow drag), and at most MAX_IN_FLIGHT
+ * requests are pending at once. Reversing direction cancels them all; rows that
+ * scrolled out of the window (or already became visible) are cancelled too.
+ */
+public class ScrollPrefetcher extends RecyclerView.OnScrollListener {
+
+    private static final int MIN_ROWS_AHEAD = 3;   // Slow drag
+    private static final int MAX_ROWS_AHEAD = 12;  // Fast fling
+    private static final int MAX_IN_FLIGHT = 6;    // Pending prefetch requests at once
+    private static final long LOOKAHEAD_MS = 600;  // Warm what the current speed reaches in this time
+    private static final float SPEED_SMOOTHING = 0.3f;
+
+    private final LinearLayoutManager layoutManager;
+    private final PhotoAdapter adapter;
+
+    // Position -> pending request
+    private final Map<Integer, ImageRequestScheduler.Handle> pending = new HashMap<>();
+    private int direction; // 1 = down, -1 = up, 0 = not scrolled yet
+    private float speedPxPerMs;
+    private long lastScrollTime;
+
+    public ScrollPrefetcher(LinearLayoutManager layoutManager, PhotoAdapter adapter) {
+        this.layoutManager = layoutManager;
+        this.adapter = adapter;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy == 0) return;
+
+        int newDirection = dy > 0 ? 1 : -1;
+        if (newDirection != direction) {
+            cancelAll(); // Everything pending is now behind the user
+            direction = newDirection;
+            speedPxPerMs = 0;
+        }
+        updateSpeed(Math.abs(dy));
+
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) return;
+
+        int ahead = rowsAhead();
+        int start = direction > 0 ? last + 1 : first - 1;
+        int end = direction > 0 ? Math.min(last + ahead, adapter.getItemCount() - 1) : Math.max(first - ahead, 0);
+
+        cancelOutside(Math.min(start, end), Math.max(start, end));
+
+        // Nearest rows first, within the budget
+        for (int position = start; direction > 0 ? position <= end : position >= end; position += direction) {
+            if (pending.size() >= MAX_IN_FLIGHT) break;
+            if (pending.containsKey(position)) continue;
+
+            int requested = position;
+            ImageRequestScheduler.Handle handle = adapter.prefetchImage(position,
+                    new OptimizedImageDownloader.DownloadCallback() {
+                        @Override
+                        public void onSuccess(Bitmap bitmap) {
+                            pending.remove(requested);
+                        }
+
+                        @Override
+                        public void onError(String error) {
+                            pending.remove(requested);
+                        }
+                    });
+            if (handle != null) {
+                pending.put(position, handle);
+            }
+        }
+    }
+
+    /**
+     * Drop all pending prefetches (call from onStop)
+     */
+    public void cancelAll() {
+        for (ImageRequestScheduler.Handle handle : pending.values()) {
+            handle.cancel();
+        }
+        pending.clear();
+    }
+
+    private void cancelOutside(int from, int to) {
+        Iterator<Map.Entry<Integer, ImageRequestScheduler.Handle>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, ImageRequestScheduler.Handle> entry = it.next();
+            if (entry.getKey() < from || entry.getKey() > to) {
+                entry.getValue().cancel();
+                it.remove();
+            }
+        }
+    }
+
+    // Exponential moving average of the scroll speed
+    private void updateSpeed(int distancePx) {
+        long now = SystemClock.uptimeMillis();
+        long elapsed = lastScrollTime == 0 ? 16 : Math.max(1, now - lastScrollTime);
+        lastScrollTime = now;
+        float sample = (float) distancePx / elapsed;
+        speedPxPerMs += SPEED_SMOOTHING * (sample - speedPxPerMs);
+    }
+
+    private int rowsAhead() {
+        View row = layoutManager.getChildAt(0);
+        int rowHeight = row != null && row.getHeight() > 0 ? row.getHeight() : 1;
+        int rows = MIN_ROWS_AHEAD + (int) (speedPxPerMs * LOOKAHEAD_MS / rowHeight);
+        return Math.min(rows, MAX_ROWS_AHEAD);
+    }
+}
@@ -1,10 +1,29 @@
 package com.example.mobilegiuaky.api;
 
+import android.content.Context;
+
+import com.example.mobilegiuaky.model.Photo;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
  * Retrofit API Client - Singleton pattern
+ * 
+ * ✅ GOOD: One process-wide OkHttpClient shared by API calls and image downloads,
+ * so every request reuses pooled keep-alive sockets, HTTP/2 connections
+ * and the on-disk response cache.
  */
 public class ApiClient {
     
@@ -13,19 +32,87 @@ public class ApiClient {
     // For real device: use your computer's local IP (e.g., 192.168.1.x)
     private static final String BASE_URL = "http://10.0.2.2:3000/";
     
+    // HTTP engine tuning
+    private static final long HTTP_CACHE_SIZE = 50L * 1024 * 1024; // 50 MB
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final int MAX_REQUESTS_PER_HOST = 8;
+    
+    private static File cacheDir = null;
+    private static OkHttpClient httpClient = null;
+    private static Gson gson = null;
     private static Retrofit retrofit = null;
+    private static ApiService apiService = null;
+    
+    /**
+     * Call once from Application.onCreate() so the HTTP cache lives in the app cache dir.
+     * Without it the client still works, just without a disk cache.
+     */
+    public static synchronized void init(Context context) {
+        if (cacheDir == null) {
+            cacheDir = new File(context.getApplicationContext().getCacheDir(), "http_cache");
+        }
+    }
+    
+    public static String getBaseUrl() {
+        return BASE_URL;
+    }
+    
+    public static synchronized OkHttpClient getHttpClient() {
+        if (httpClient == null) {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+            
+            OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                    .dispatcher(dispatcher)
+                    // HTTP/2 is negotiated via ALPN on TLS hosts, plain HTTP falls back to 1.1
+                    .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                    .connectTimeout(15, TimeUnit.SECONDS)
+                    .readTimeout(30, TimeUnit.SECONDS)
+                    .writeTimeout(30, TimeUnit.SECONDS)
+                    .retryOnConnectionFailure(true);
+            
+            if (cacheDir != null) {
+                builder.cache(new Cache(cacheDir, HTTP_CACHE_SIZE));
+            }
+            httpClient = builder.build();
+        }
+        return httpClient;
+    }
     
-    public static Retrofit getClient() {
+    /**
+     * Gson used by Retrofit - also used by the streaming decoder
+     */
+    public static synchronized Gson getGson() {
+        if (gson == null) {
+            gson = new GsonBuilder()
+                    // ✅ GOOD: Reflection-free Photo parsing
+                    .registerTypeAdapter(Photo.class, new PhotoTypeAdapter())
+                    .create();
+        }
+        return gson;
+    }
+    
+    public static synchronized Retrofit getClient() {
         if (retrofit == null) {
             retrofit = new Retrofit.Builder()
                     .baseUrl(BASE_URL)
-                    .addConverterFactory(GsonConverterFactory.create())
+                    .client(getHttpClient())
+                    // ✅ GOOD: Identical GETs in flight share one HTTP call
+                    .addCallAdapterFactory(new CoalescingCallAdapterFactory())
+                    // ✅ GOOD: PHB1 binary lists when the server sends them, JSON otherwise
+                    .addConverterFactory(new PhotoBinaryConverterFactory())
+                    .addConverterFactory(GsonConverterFactory.create(getGson()))
                     .build();
         }
         return retrofit;
     }
     
-    public static ApiService getApiService() {
-        return getClient().create(ApiService.class);
+    public static synchronized ApiService getApiService() {
+        if (apiService == null) {
+            apiService = getClient().create(ApiService.class);
+        }
+        return apiService;
     }
 }
@@ -1,14 +1,23 @@
 package com.example.mobilegiuaky.api;
 
+import com.example.mobilegiuaky.model.BatchDeleteResult;
 import com.example.mobilegiuaky.model.Photo;
+import com.example.mobilegiuaky.model.PhotoBatchRequest;
+import com.example.mobilegiuaky.model.PhotoChanges;
+import com.example.mobilegiuaky.model.PhotoPage;
 import java.util.List;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
 import retrofit2.http.GET;
+import retrofit2.http.HTTP;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 import retrofit2.http.Url;
 
 /**
@@ -16,10 +25,39 @@ import retrofit2.http.Url;
  */
 public interface ApiService {
     
+    // ✅ GOOD: Field projection for list screens - no full description / file_name per row.
+    // id + created_at always come back (row identity and feed order).
+    String LIST_FIELDS = "id,title,summary,image_url,file_size_kb,created_at";
+    
+    // Just the row identity - for bulk actions over the whole catalog
+    String ID_FIELDS = "id";
+    
+    // ✅ GOOD: Ask for the compact PHB1 encoding, JSON still accepted (see PhotoBinaryConverterFactory)
+    String ACCEPT_BINARY = "Accept: " + PhotoBinaryFormat.MEDIA_TYPE + ", application/json;q=0.5";
+    
     // Get all photos
+    @Headers(ACCEPT_BINARY)
     @GET("api/photos")
     Call<List<Photo>> getPhotos();
     
+    // Get all photos as a raw stream - decoded incrementally by PhotoStreamLoader
+    @Streaming
+    @GET("api/photos")
+    Call<ResponseBody> streamPhotos(@Query("fields") String fields);
+    
+    // Get one page of photos, newest first (afterCursor = null for the first page)
+    // ifNoneMatch = catalog ETag from a previous response -> HTTP 304 when unchanged
+    // fields = comma-separated projection (null = every field)
+    @Headers(ACCEPT_BINARY)
+    @GET("api/photos")
+    Call<PhotoPage> getPhotoPage(@Query("limit") int limit, @Query("after") String afterCursor,
+                                 @Query("fields") String fields,
+                                 @Header("If-None-Match") String ifNoneMatch);
+    
+    // Delta sync: photos changed and ids deleted since an ISO timestamp
+    @GET("api/photos/changes")
+    Call<PhotoChanges> getChanges(@Query("since") String since, @Query("fields") String fields);
+    
     // Get single photo by ID
     @GET("api/photos/{id}")
     Call<Photo> getPhotoById(@Path("id") int id);
@@ -28,6 +66,14 @@ public interface ApiService {
     @POST("api/photos")
     Call<Photo> createPhoto(@Body Photo photo);
     
+    // Create many photos in one request (Admin only, max 500 per batch)
+    @POST("api/photos/batch")
+    Call<List<Photo>> createPhotosBatch(@Body PhotoBatchRequest request);
+    
+    // Delete many photos in one request (Admin only, max 500 per batch)
+    @HTTP(method = "DELETE", path = "api/photos/batch", hasBody = true)
+    Call<BatchDeleteResult> deletePhotosBatch(@Body PhotoBatchRequest request);
+    
     // Delete photo (Admin only)
     @DELETE("api/photos/{id}")
     Call<ResponseBody> deletePhoto(@Path("id") int id);
@@ -0,0 +1,228 @@
+package com.example.mobilegiuaky.api;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.Streaming;
+
+/**
+ * ✅ GOOD: Request coalescing for identical GET calls
+ * 
+ * While a GET is in flight, enqueueing the same request again (same method, URL
+ * and headers) does not start a second HTTP call and parse: the new caller joins
+ * the call in flight and receives the same Response when it completes.
+ * 
+ * Callers share the parsed body, so they must treat it as read-only
+ * (copy a list before changing it).
+ */
+public class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+    
+    // Request key -> call in flight, guarded by "this"
+    private final Map<String, InFlight<?>> inFlight = new HashMap<>();
+    
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class || !(returnType instanceof ParameterizedType)) {
+            return null;
+        }
+        if (!isCoalescable(annotations)) {
+            return null;
+        }
+        // A raw body can only be read once, it cannot be handed to several callers
+        if (getParameterUpperBound(0, (ParameterizedType) returnType) == ResponseBody.class) {
+            return null;
+        }
+        
+        @SuppressWarnings("unchecked")
+        CallAdapter<Object, Call<Object>> delegate =
+                (CallAdapter<Object, Call<Object>>) retrofit.nextCallAdapter(this, returnType, annotations);
+        
+        return new CallAdapter<Object, Call<Object>>() {
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+            
+            @Override
+            public Call<Object> adapt(Call<Object> call) {
+                return new CoalescingCall<>(delegate.adapt(call));
+            }
+        };
+    }
+    
+    private static boolean isCoalescable(Annotation[] annotations) {
+        boolean isGet = false;
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Streaming) return false;
+            if (annotation instanceof GET) isGet = true;
+        }
+        return isGet;
+    }
+    
+    private static String keyOf(Request request) {
+        return request.method() + " " + request.url() + "\n" + request.headers();
+    }
+    
+    /**
+     * One HTTP call and everyone waiting for its result
+     */
+    private static class InFlight<T> {
+        final Call<T> call;
+        final List<CoalescingCall<T>> callers = new ArrayList<>();
+        final List<Callback<T>> callbacks = new ArrayList<>();
+        
+        InFlight(Call<T> call) {
+            this.call = call;
+        }
+        
+        boolean hasActiveCallers() {
+            for (CoalescingCall<T> caller : callers) {
+                if (!caller.canceled) return true;
+            }
+            return false;
+        }
+    }
+    
+    private class CoalescingCall<T> implements Call<T> {
+        
+        private final Call<T> delegate;
+        private volatile boolean executed;
+        private volatile boolean canceled;
+        private InFlight<T> joined;
+        private String key;
+        
+        CoalescingCall(Call<T> delegate) {
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public void enqueue(Callback<T> callback) {
+            if (executed) throw new IllegalStateException("Already executed.");
+            executed = true;
+            key = keyOf(delegate.request());
+            
+            InFlight<T> group;
+            boolean leader = false;
+            synchronized (CoalescingCallAdapterFactory.this) {
+                @SuppressWarnings("unchecked")
+                InFlight<T> existing = (InFlight<T>) inFlight.get(key);
+                if (existing != null) {
+                    group = existing;
+                } else {
+                    group = new InFlight<>(delegate);
+                    inFlight.put(key, group);
+                    leader = true;
+                }
+                group.callers.add(this);
+                group.callbacks.add(callback);
+                joined = group;
+            }
+            
+            if (leader) {
+                final InFlight<T> started = group;
+                delegate.enqueue(new Callback<T>() {
+                    @Override
+                    public void onResponse(Call<T> call, Response<T> response) {
+                        int count = finish(started);
+                        for (int i = 0; i < count; i++) {
+                            CoalescingCall<T> caller = started.callers.get(i);
+                            if (caller.canceled) {
+                                started.callbacks.get(i).onFailure(caller, new IOException("Canceled"));
+                            } else {
+                                started.callbacks.get(i).onResponse(caller, response);
+                            }
+                        }
+                    }
+                    
+                    @Override
+                    public void onFailure(Call<T> call, Throwable t) {
+                        int count = finish(started);
+                        for (int i = 0; i < count; i++) {
+                            started.callbacks.get(i).onFailure(started.callers.get(i), t);
+                        }
+                    }
+                });
+            }
+        }
+        
+        /**
+         * Remove the group so new calls start fresh; returns how many callers to notify
+         */
+        private int finish(InFlight<T> group) {
+            synchronized (CoalescingCallAdapterFactory.this) {
+                if (inFlight.get(key) == group) {
+                    inFlight.remove(key);
+                }
+                return group.callers.size();
+            }
+        }
+        
+        @Override
+        public Response<T> execute() throws IOException {
+            // Synchronous calls are not coalesced
+            executed = true;
+            return delegate.execute();
+        }
+        
+        @Override
+        public void cancel() {
+            canceled = true;
+            InFlight<T> group = joined;
+            if (group == null) {
+                delegate.cancel();
+                return;
+            }
+            boolean cancelShared;
+            synchronized (CoalescingCallAdapterFactory.this) {
+                // Only stop the shared HTTP call when nobody is waiting for it anymore
+                cancelShared = !group.hasActiveCallers();
+                if (cancelShared && inFlight.get(key) == group) {
+                    inFlight.remove(key);
+                }
+            }
+            if (cancelShared) {
+                group.call.cancel();
+            }
+        }
+        
+        @Override
+        public boolean isExecuted() {
+            return executed;
+        }
+        
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+        
+        @Override
+        public Call<T> clone() {
+            return new CoalescingCall<>(delegate.clone());
+        }
+        
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+        
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.mobilegiuaky.api;
+
+import com.example.mobilegiuaky.model.Photo;
+import com.example.mobilegiuaky.model.PhotoPage;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * ✅ GOOD: Decodes PHB1 responses (see PhotoBinaryFormat) straight into Photo objects
+ * 
+ * Only claims List<Photo> and PhotoPage. The choice is made per response from
+ * its Content-Type, so a server that ignores the Accept header and answers
+ * with JSON still works: those bodies go to the next converter (Gson).
+ * 
+ * Must be added before GsonConverterFactory, which accepts every type.
+ */
+public class PhotoBinaryConverterFactory extends Converter.Factory {
+    
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                            Retrofit retrofit) {
+        boolean page = type == PhotoPage.class;
+        if (!page && !isPhotoList(type)) {
+            return null;
+        }
+        
+        Converter<ResponseBody, ?> fallback = retrofit.nextResponseBodyConverter(this, type, annotations);
+        return body -> {
+            if (!isBinary(body.contentType())) {
+                return fallback.convert(body);
+            }
+            try {
+                byte[] bytes = body.bytes();
+                return page ? PhotoBinaryFormat.decodePage(bytes) : PhotoBinaryFormat.decodeList(bytes);
+            } finally {
+                body.close();
+            }
+        };
+    }
+    
+    private static boolean isPhotoList(Type type) {
+        if (!(type instanceof ParameterizedType)) return false;
+        ParameterizedType parameterized = (ParameterizedType) type;
+        return parameterized.getRawType() == List.class
+                && parameterized.getActualTypeArguments()[0] == Photo.class;
+    }
+    
+    private static boolean isBinary(MediaType contentType) {
+        return contentType != null
+                && PhotoBinaryFormat.MEDIA_TYPE.equals(contentType.type() + "/" + contentType.subtype());
+    }
+}
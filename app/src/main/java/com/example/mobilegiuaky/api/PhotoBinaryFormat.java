@@ -0,0 +1,417 @@
+package com.example.mobilegiuaky.api;
+
+import com.example.mobilegiuaky.model.Photo;
+import com.example.mobilegiuaky.model.PhotoPage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ GOOD: Compact binary encoding of photo lists ("PHB1")
+ *
+ * Same data as the JSON list/page, without field names, quotes or digits as text:
+ *
+ *   "PHB1" | kind (1 = list, 2 = page)
+ *   [page]  has_more byte | next_cursor | server_time      (nullable strings)
+ *   prefix table: varint count, strings                    (repeated URL prefixes)
+ *   varint count, then per photo:
+ *     varint field mask | zigzag(id - previous id)
+ *     title, description, summary                          (strings, if in mask)
+ *     image_url = varint (prefix index + 1, 0 = none) + suffix string
+ *     file_name | zigzag file_size_kb
+ *     created_at, updated_at = zigzag(epoch ms - previous value of that field)
+ *
+ * Strings are varint length + UTF-8 bytes; nullable strings use length + 1 with 0 = null.
+ * Timestamps come back in the same ISO form the JSON path returns
+ * ("2024-01-31T10:00:00.000Z"). backend/server.js writes the same layout.
+ */
+public final class PhotoBinaryFormat {
+
+    public static final String MEDIA_TYPE = "application/x-photobin";
+
+    private static final byte[] MAGIC = {'P', 'H', 'B', '1'};
+    private static final int KIND_LIST = 1;
+    private static final int KIND_PAGE = 2;
+
+    // Field mask bits (a field is left out when it is null / not projected)
+    private static final int F_TITLE = 1;
+    private static final int F_DESCRIPTION = 1 << 1;
+    private static final int F_SUMMARY = 1 << 2;
+    private static final int F_IMAGE_URL = 1 << 3;
+    private static final int F_FILE_NAME = 1 << 4;
+    private static final int F_FILE_SIZE = 1 << 5;
+    private static final int F_CREATED_AT = 1 << 6;
+    private static final int F_UPDATED_AT = 1 << 7;
+
+    private PhotoBinaryFormat() {}
+
+    // ==================== Decoding ====================
+
+    public static List<Photo> decodeList(byte[] data) throws IOException {
+        Reader in = new Reader(data);
+        in.readHeader(KIND_LIST);
+        return in.readPhotos();
+    }
+
+    public static PhotoPage decodePage(byte[] data) throws IOException {
+        Reader in = new Reader(data);
+        in.readHeader(KIND_PAGE);
+        boolean hasMore = in.readByte() != 0;
+        String nextCursor = in.readNullableString();
+        String serverTime = in.readNullableString();
+        return new PhotoPage(in.readPhotos(), nextCursor, hasMore, serverTime);
+    }
+
+    // ==================== Encoding ====================
+    // The server is the real encoder; this one is for tests and benchmarks.
+
+    public static byte[] encodeList(List<Photo> photos) {
+        Writer out = new Writer(photos.size() * 64);
+        out.writeHeader(KIND_LIST);
+        out.writePhotos(photos);
+        return out.toByteArray();
+    }
+
+    public static byte[] encodePage(PhotoPage page) {
+        List<Photo> photos = page.getItems() != null ? page.getItems() : new ArrayList<>();
+        Writer out = new Writer(photos.size() * 64 + 64);
+        out.writeHeader(KIND_PAGE);
+        out.writeByte(page.hasMore() ? 1 : 0);
+        out.writeNullableString(page.getNextCursor());
+        out.writeNullableString(page.getServerTime());
+        out.writePhotos(photos);
+        return out.toByteArray();
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        void readHeader(int expectedKind) throws IOException {
+            for (byte b : MAGIC) {
+                if (readByte() != b) throw new IOException("Not a PHB1 payload");
+            }
+            int kind = readByte();
+            if (kind != expectedKind) {
+                throw new IOException("Unexpected PHB1 payload kind " + kind);
+            }
+        }
+
+        List<Photo> readPhotos() throws IOException {
+            int tableSize = readCount();
+            String[] prefixes = new String[tableSize];
+            for (int i = 0; i < tableSize; i++) {
+                prefixes[i] = readString();
+            }
+
+            int count = readCount();
+            List<Photo> photos = new ArrayList<>(count);
+            int id = 0;
+            long createdMillis = 0;
+            long updatedMillis = 0;
+            String created = null;
+            String updated = null;
+
+            for (int i = 0; i < count; i++) {
+                int mask = (int) readVarLong();
+                Photo photo = new Photo();
+                id += (int) readZigZag();
+                photo.setId(id);
+                if ((mask & F_TITLE) != 0) photo.setTitle(readString());
+                if ((mask & F_DESCRIPTION) != 0) photo.setDescription(readString());
+                if ((mask & F_SUMMARY) != 0) photo.setSummary(readString());
+                if ((mask & F_IMAGE_URL) != 0) {
+                    int prefix = readCount();
+                    String suffix = readString();
+                    if (prefix > tableSize) throw new IOException("Bad prefix index " + prefix);
+                    photo.setImageUrl(prefix == 0 ? suffix : prefixes[prefix - 1].concat(suffix));
+                }
+                if ((mask & F_FILE_NAME) != 0) photo.setFileName(readString());
+                if ((mask & F_FILE_SIZE) != 0) photo.setFileSizeKb((int) readZigZag());
+                if ((mask & F_CREATED_AT) != 0) {
+                    long delta = readZigZag();
+                    // Same timestamp as the previous row: share the string
+                    if (delta != 0 || created == null) {
+                        createdMillis += delta;
+                        created = formatIso(createdMillis);
+                    }
+                    photo.setCreatedAt(created);
+                }
+                if ((mask & F_UPDATED_AT) != 0) {
+                    long delta = readZigZag();
+                    if (delta != 0 || updated == null) {
+                        updatedMillis += delta;
+                        updated = formatIso(updatedMillis);
+                    }
+                    photo.setUpdatedAt(updated);
+                }
+                photos.add(photo);
+            }
+            return photos;
+        }
+
+        int readByte() throws IOException {
+            if (pos >= data.length) throw new IOException("Truncated PHB1 payload");
+            return data[pos++];
+        }
+
+        long readVarLong() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return result;
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        long readZigZag() throws IOException {
+            long n = readVarLong();
+            return (n >>> 1) ^ -(n & 1);
+        }
+
+        int readCount() throws IOException {
+            long n = readVarLong();
+            if (n < 0 || n > data.length - pos + 1L) throw new IOException("Bad length " + n);
+            return (int) n;
+        }
+
+        String readString() throws IOException {
+            int length = readCount();
+            if (length > data.length - pos) throw new IOException("Truncated PHB1 payload");
+            String value = new String(data, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        String readNullableString() throws IOException {
+            int length = readCount();
+            if (length == 0) return null;
+            length--;
+            if (length > data.length - pos) throw new IOException("Truncated PHB1 payload");
+            String value = new String(data, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int size;
+
+        Writer(int initialCapacity) {
+            buffer = new byte[Math.max(initialCapacity, 64)];
+        }
+
+        void writeHeader(int kind) {
+            for (byte b : MAGIC) writeByte(b);
+            writeByte(kind);
+        }
+
+        void writePhotos(List<Photo> photos) {
+            // Prefix table: image URLs without their trailing digits
+            Map<String, Integer> prefixIndex = new HashMap<>();
+            List<String> prefixes = new ArrayList<>();
+            for (Photo photo : photos) {
+                String prefix = urlPrefix(photo.getImageUrl());
+                if (!prefix.isEmpty() && !prefixIndex.containsKey(prefix)) {
+                    prefixIndex.put(prefix, prefixes.size() + 1);
+                    prefixes.add(prefix);
+                }
+            }
+            writeVarLong(prefixes.size());
+            for (String prefix : prefixes) writeString(prefix);
+
+            writeVarLong(photos.size());
+            int previousId = 0;
+            long previousCreated = 0;
+            long previousUpdated = 0;
+            for (Photo photo : photos) {
+                long created = parseIso(photo.getCreatedAt());
+                long updated = parseIso(photo.getUpdatedAt());
+                int mask = 0;
+                if (photo.getTitle() != null) mask |= F_TITLE;
+                if (photo.getDescription() != null) mask |= F_DESCRIPTION;
+                if (photo.getSummary() != null) mask |= F_SUMMARY;
+                if (photo.getImageUrl() != null) mask |= F_IMAGE_URL;
+                if (photo.getFileName() != null) mask |= F_FILE_NAME;
+                mask |= F_FILE_SIZE;
+                if (created != Long.MIN_VALUE) mask |= F_CREATED_AT;
+                if (updated != Long.MIN_VALUE) mask |= F_UPDATED_AT;
+
+                writeVarLong(mask);
+                writeZigZag((long) photo.getId() - previousId);
+                previousId = photo.getId();
+                if ((mask & F_TITLE) != 0) writeString(photo.getTitle());
+                if ((mask & F_DESCRIPTION) != 0) writeString(photo.getDescription());
+                if ((mask & F_SUMMARY) != 0) writeString(photo.getSummary());
+                if ((mask & F_IMAGE_URL) != 0) {
+                    String url = photo.getImageUrl();
+                    String prefix = urlPrefix(url);
+                    writeVarLong(prefix.isEmpty() ? 0 : prefixIndex.get(prefix));
+                    writeString(url.substring(prefix.length()));
+                }
+                if ((mask & F_FILE_NAME) != 0) writeString(photo.getFileName());
+                writeZigZag(photo.getFileSizeKb());
+                if ((mask & F_CREATED_AT) != 0) {
+                    writeZigZag(created - previousCreated);
+                    previousCreated = created;
+                }
+                if ((mask & F_UPDATED_AT) != 0) {
+                    writeZigZag(updated - previousUpdated);
+                    previousUpdated = updated;
+                }
+            }
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) b;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeNullableString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    // "https://picsum.photos/800/600?random=42" -> "https://picsum.photos/800/600?random="
+    static String urlPrefix(String url) {
+        if (url == null) return "";
+        int end = url.length();
+        while (end > 0 && Character.isDigit(url.charAt(end - 1))) end--;
+        return url.substring(0, end);
+    }
+
+    // ==================== Timestamps ====================
+    // ISO-8601 UTC with milliseconds, as JavaScript's Date.toISOString() prints it.
+    // Hand-rolled: java.time needs API 26 and SimpleDateFormat is neither fast nor thread-safe.
+
+    static String formatIso(long epochMillis) {
+        long days = Math.floorDiv(epochMillis, 86_400_000L);
+        int millisOfDay = (int) Math.floorMod(epochMillis, 86_400_000L);
+
+        // Civil date from days since 1970-01-01 (proleptic Gregorian)
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long doe = z - era * 146_097;
+        long yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+        char[] c = new char[24];
+        put(c, 0, (int) year, 4);
+        c[4] = '-';
+        put(c, 5, month, 2);
+        c[7] = '-';
+        put(c, 8, day, 2);
+        c[10] = 'T';
+        put(c, 11, millisOfDay / 3_600_000, 2);
+        c[13] = ':';
+        put(c, 14, millisOfDay / 60_000 % 60, 2);
+        c[16] = ':';
+        put(c, 17, millisOfDay / 1000 % 60, 2);
+        c[19] = '.';
+        put(c, 20, millisOfDay % 1000, 3);
+        c[23] = 'Z';
+        return new String(c);
+    }
+
+    /**
+     * @return epoch millis, or Long.MIN_VALUE if value is null or not in toISOString() form
+     */
+    static long parseIso(String value) {
+        if (value == null || value.length() != 24 || value.charAt(4) != '-' || value.charAt(7) != '-'
+                || value.charAt(10) != 'T' || value.charAt(13) != ':' || value.charAt(16) != ':'
+                || value.charAt(19) != '.' || value.charAt(23) != 'Z') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        int hour = digits(value, 11, 2);
+        int minute = digits(value, 14, 2);
+        int second = digits(value, 17, 2);
+        int millis = digits(value, 20, 3);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59 || millis < 0) {
+            return Long.MIN_VALUE;
+        }
+
+        // Days since 1970-01-01 from a civil date (inverse of formatIso)
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        long days = era * 146_097 + doe - 719_468;
+        return days * 86_400_000L + hour * 3_600_000L + minute * 60_000L + second * 1000L + millis;
+    }
+
+    private static void put(char[] c, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            c[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int digits(String s, int offset, int width) {
+        int value = 0;
+        for (int i = offset; i < offset + width; i++) {
+            char ch = s.charAt(i);
+            if (ch < '0' || ch > '9') return -1;
+            value = value * 10 + (ch - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.mobilegiuaky.api;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.mobilegiuaky.model.PhotoChanges;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.BufferedSource;
+
+/**
+ * ✅ GOOD: Push-based sync over Server-Sent Events (GET /api/events)
+ *
+ * The server sends a small "changes" event (same shape as a delta sync) for each
+ * create/delete, so the list updates right away and an unchanged catalog costs nothing.
+ *
+ * On reconnect the last event id is sent back and missed events are replayed.
+ * When that is not possible the server sends "resync", and the listener gets
+ * onResync() to run one delta sync instead.
+ */
+public class PhotoEventStream {
+
+    private static final String TAG = "PhotoEventStream";
+
+    // Reconnect backoff (the server can change the base with "retry:")
+    private static final long INITIAL_RETRY_MS = 1000;
+    private static final long MAX_RETRY_MS = 30_000;
+
+    // One long-lived blocking reader per open stream
+    private static final ExecutorService readers = Executors.newCachedThreadPool();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final OkHttpClient client;
+    private final HttpUrl url;
+
+    private volatile String lastEventId;
+    private Session session;
+
+    public interface EventListener {
+        void onChanges(PhotoChanges changes);
+        void onResync();
+    }
+
+    /**
+     * @param fields projection for created rows, e.g. ApiService.LIST_FIELDS (null = all fields)
+     */
+    public PhotoEventStream(String fields) {
+        // Same connection pool and dispatcher, but no read timeout (the stream idles
+        // between events) and no disk cache (nothing in a live stream is reusable)
+        client = ApiClient.getHttpClient().newBuilder()
+                .readTimeout(0, TimeUnit.MILLISECONDS)
+                .cache(null)
+                .build();
+        HttpUrl.Builder builder = HttpUrl.get(ApiClient.getBaseUrl()).newBuilder("api/events");
+        if (fields != null) {
+            builder.addQueryParameter("fields", fields);
+        }
+        url = builder.build();
+    }
+
+    /**
+     * Open the stream (call from onStart); listener methods run on the main thread
+     */
+    public void start(EventListener listener) {
+        stop();
+        session = new Session(listener);
+        session.future = readers.submit(session);
+    }
+
+    /**
+     * Close the stream (call from onStop) - the last event id is kept for the next start()
+     */
+    public void stop() {
+        if (session != null) {
+            session.close();
+            session = null;
+        }
+    }
+
+    /**
+     * One start()..stop() period. Its own flag, so a reader still winding down
+     * from an old session can never deliver into a new one.
+     */
+    private class Session implements Runnable {
+        private final EventListener listener;
+        private volatile boolean open = true;
+        private volatile Call call;
+        private Future<?> future;
+        private long retryMs = INITIAL_RETRY_MS;
+
+        Session(EventListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void run() {
+            long backoffMs = retryMs;
+            boolean reportedOutage = false;
+
+            while (open) {
+                boolean connected = false;
+                Request.Builder request = new Request.Builder()
+                        .url(url)
+                        .header("Accept", "text/event-stream");
+                if (lastEventId != null) {
+                    request.header("Last-Event-ID", lastEventId);
+                }
+
+                call = client.newCall(request.build());
+                try (Response response = call.execute()) {
+                    if (response.isSuccessful() && response.body() != null) {
+                        connected = true;
+                        reportedOutage = false;
+                        readEvents(response.body().source());
+                    } else {
+                        Log.w(TAG, "Event stream refused: HTTP " + response.code());
+                    }
+                } catch (IOException e) {
+                    if (open) Log.w(TAG, "Event stream dropped: " + e.getMessage());
+                }
+                call = null;
+                if (!open) break;
+
+                // No stream means no pushes: let the caller catch up once per outage
+                if (!connected && !reportedOutage) {
+                    reportedOutage = true;
+                    post(listener::onResync);
+                }
+
+                backoffMs = connected ? retryMs : Math.min(backoffMs * 2, MAX_RETRY_MS);
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Minimal text/event-stream parser: event, data, id and retry fields
+         */
+        private void readEvents(BufferedSource source) throws IOException {
+            String eventType = null;
+            String eventId = null;
+            StringBuilder data = new StringBuilder();
+            String line;
+
+            while (open && (line = source.readUtf8Line()) != null) {
+                if (line.isEmpty()) {
+                    // Blank line ends an event
+                    if (data.length() > 0 || eventId != null) {
+                        dispatch(eventType, data.toString(), eventId);
+                    }
+                    eventType = null;
+                    eventId = null;
+                    data.setLength(0);
+                    continue;
+                }
+                if (line.startsWith(":")) continue; // Comment / heartbeat
+
+                int colon = line.indexOf(':');
+                String field = colon < 0 ? line : line.substring(0, colon);
+                String value = colon < 0 ? "" : line.substring(colon + 1);
+                if (value.startsWith(" ")) value = value.substring(1);
+
+                switch (field) {
+                    case "event":
+                        eventType = value;
+                        break;
+                    case "data":
+                        if (data.length() > 0) data.append('\n');
+                        data.append(value);
+                        break;
+                    case "id":
+                        eventId = value;
+                        break;
+                    case "retry":
+                        try {
+                            retryMs = Math.max(Long.parseLong(value), INITIAL_RETRY_MS);
+                        } catch (NumberFormatException ignored) {
+                            // Keep the current delay
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        private void dispatch(String eventType, String data, String eventId) {
+            Runnable action = null;
+            if ("changes".equals(eventType)) {
+                try {
+                    // Parsed here on the reader thread, not on the main thread
+                    PhotoChanges changes = ApiClient.getGson().fromJson(data, PhotoChanges.class);
+                    if (changes != null) {
+                        action = () -> listener.onChanges(changes);
+                    }
+                } catch (JsonParseException e) {
+                    Log.w(TAG, "Bad changes event: " + e.getMessage());
+                    action = listener::onResync;
+                }
+            } else if ("resync".equals(eventType)) {
+                action = listener::onResync;
+            }
+            if (action != null || eventId != null) {
+                post(action, eventId);
+            }
+        }
+
+        private void post(Runnable action) {
+            post(action, null);
+        }
+
+        /**
+         * The event id only counts as seen once the listener ran: an event dropped
+         * because the session closed is replayed by the next one via Last-Event-ID
+         */
+        private void post(Runnable action, String eventId) {
+            mainHandler.post(() -> {
+                if (!open) return;
+                if (action != null) action.run();
+                if (eventId != null) lastEventId = eventId;
+            });
+        }
+
+        void close() {
+            open = false;
+            Call c = call;
+            if (c != null) c.cancel();
+            if (future != null) future.cancel(true); // Wakes it from a backoff sleep
+        }
+    }
+}
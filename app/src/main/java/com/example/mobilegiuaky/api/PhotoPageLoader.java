@@ -0,0 +1,146 @@
+package com.example.mobilegiuaky.api;
+
+import com.example.mobilegiuaky.model.Photo;
+import com.example.mobilegiuaky.model.PhotoPage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * ✅ GOOD: Cursor-based page loader for the photo feed
+ * 
+ * Fetches the first screen right away and the next page only when asked,
+ * so time-to-first-content and memory do not grow with the catalog size.
+ * 
+ * refresh() revalidates with the catalog ETag: HTTP 304 means nothing
+ * changed, so there is no body to download, parse or rebind.
+ */
+public class PhotoPageLoader {
+    
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int HTTP_NOT_MODIFIED = 304;
+    
+    private final ApiService apiService;
+    private final int pageSize;
+    
+    private String nextCursor;
+    private String catalogEtag;
+    private String serverTime;
+    private boolean hasMore = true;
+    private boolean loading = false;
+    private Call<PhotoPage> currentCall;
+    
+    public interface PageListener {
+        void onPageLoaded(List<Photo> photos, boolean firstPage, boolean hasMore);
+        void onError(String error, boolean firstPage);
+        void onNotModified();
+    }
+    
+    public PhotoPageLoader(ApiService apiService) {
+        this(apiService, DEFAULT_PAGE_SIZE);
+    }
+    
+    public PhotoPageLoader(ApiService apiService, int pageSize) {
+        this.apiService = apiService;
+        this.pageSize = pageSize;
+    }
+    
+    /**
+     * Restart from the newest photo (drops any page still in flight)
+     */
+    public void loadFirstPage(PageListener listener) {
+        cancel();
+        nextCursor = null;
+        hasMore = true;
+        load(null, true, null, listener);
+    }
+    
+    /**
+     * ✅ GOOD: Conditional reload - only downloads the first page if the catalog changed
+     */
+    public void refresh(PageListener listener) {
+        if (catalogEtag == null) {
+            loadFirstPage(listener);
+            return;
+        }
+        cancel();
+        load(null, true, catalogEtag, listener);
+    }
+    
+    /**
+     * Load the page after the last one received - no-op while loading or at the end
+     */
+    public void loadNextPage(PageListener listener) {
+        if (loading || !hasMore) return;
+        load(nextCursor, false, null, listener);
+    }
+    
+    private void load(String cursor, boolean firstPage, String ifNoneMatch, PageListener listener) {
+        loading = true;
+        currentCall = apiService.getPhotoPage(pageSize, cursor, ApiService.LIST_FIELDS, ifNoneMatch);
+        currentCall.enqueue(new Callback<PhotoPage>() {
+            @Override
+            public void onResponse(Call<PhotoPage> call, Response<PhotoPage> response) {
+                loading = false;
+                currentCall = null;
+                
+                if (response.code() == HTTP_NOT_MODIFIED) {
+                    // Same catalog version: pages already loaded are still valid
+                    listener.onNotModified();
+                } else if (response.isSuccessful() && response.body() != null) {
+                    PhotoPage page = response.body();
+                    if (firstPage) {
+                        catalogEtag = response.headers().get("ETag");
+                        serverTime = page.getServerTime();
+                    }
+                    nextCursor = page.getNextCursor();
+                    hasMore = page.hasMore() && nextCursor != null;
+                    List<Photo> items = page.getItems() != null ? page.getItems() : new ArrayList<>();
+                    listener.onPageLoaded(items, firstPage, hasMore);
+                } else {
+                    if (firstPage && ifNoneMatch == null) hasMore = false; // Nothing to continue from
+                    listener.onError("HTTP " + response.code(), firstPage);
+                }
+            }
+            
+            @Override
+            public void onFailure(Call<PhotoPage> call, Throwable t) {
+                if (call.isCanceled()) return;
+                loading = false;
+                currentCall = null;
+                if (firstPage && ifNoneMatch == null) hasMore = false;
+                listener.onError(t.getMessage(), firstPage);
+            }
+        });
+    }
+    
+    public boolean isLoading() {
+        return loading;
+    }
+    
+    public boolean hasMore() {
+        return hasMore;
+    }
+    
+    /**
+     * Server time of the last first-page load - the starting point for delta sync
+     */
+    public String getServerTime() {
+        return serverTime;
+    }
+    
+    /**
+     * Cancel the page request in flight (call from onDestroy)
+     */
+    public void cancel() {
+        if (currentCall != null) {
+            currentCall.cancel();
+            currentCall = null;
+        }
+        loading = false;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.mobilegiuaky.api;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.mobilegiuaky.model.Photo;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * ✅ GOOD: Streaming decoder for the full photo list
+ * 
+ * GsonConverterFactory buffers the whole response and builds the complete
+ * List<Photo> before onResponse fires. Here the body is read with a JsonReader
+ * as bytes arrive and photos are handed over in chunks, so the raw body is
+ * never held in memory together with the full object graph.
+ * 
+ * Screens page their rows in (PhotoPageLoader); this is for bulk actions that
+ * need the whole catalog, usually with a slim projection such as ApiService.ID_FIELDS.
+ */
+public class PhotoStreamLoader {
+    
+    private static final String TAG = "PhotoStreamLoader";
+    
+    private static final int CHUNK_SIZE = 500;
+    
+    private static final ExecutorService decoder = Executors.newSingleThreadExecutor();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    
+    private final ApiService apiService;
+    private volatile Call<ResponseBody> currentCall;
+    
+    public interface StreamListener {
+        void onChunk(List<Photo> photos);
+        void onComplete(int total, String serverTime);
+        void onError(String error);
+    }
+    
+    public PhotoStreamLoader(ApiService apiService) {
+        this.apiService = apiService;
+    }
+    
+    /**
+     * Stream the whole catalog with a projection (e.g. ApiService.ID_FIELDS);
+     * listener methods run on the main thread
+     */
+    public void load(String fields, StreamListener listener) {
+        cancel();
+        Call<ResponseBody> call = apiService.streamPhotos(fields);
+        currentCall = call;
+        
+        decoder.execute(() -> {
+            try {
+                Response<ResponseBody> response = call.execute();
+                if (!response.isSuccessful() || response.body() == null) {
+                    throw new Exception("HTTP " + response.code());
+                }
+                
+                TypeAdapter<Photo> photoAdapter = ApiClient.getGson().getAdapter(Photo.class);
+                int total = 0;
+                
+                try (ResponseBody body = response.body();
+                     JsonReader reader = new JsonReader(body.charStream())) {
+                    reader.beginArray();
+                    
+                    List<Photo> chunk = new ArrayList<>(CHUNK_SIZE);
+                    
+                    while (reader.hasNext()) {
+                        if (call.isCanceled()) return;
+                        chunk.add(photoAdapter.read(reader));
+                        total++;
+                        
+                        if (chunk.size() >= CHUNK_SIZE) {
+                            deliverChunk(call, listener, chunk);
+                            chunk = new ArrayList<>(CHUNK_SIZE);
+                        }
+                    }
+                    reader.endArray();
+                    
+                    if (!chunk.isEmpty()) {
+                        deliverChunk(call, listener, chunk);
+                    }
+                }
+                
+                final int count = total;
+                final String serverTime = response.headers().get("X-Server-Time");
+                mainHandler.post(() -> {
+                    if (call == currentCall) {
+                        currentCall = null;
+                        listener.onComplete(count, serverTime);
+                    }
+                });
+                
+            } catch (Exception e) {
+                if (call.isCanceled()) return;
+                Log.e(TAG, "Stream error: " + e.getMessage());
+                mainHandler.post(() -> {
+                    if (call == currentCall) {
+                        currentCall = null;
+                        listener.onError(e.getMessage());
+                    }
+                });
+            }
+        });
+    }
+    
+    private void deliverChunk(Call<ResponseBody> call, StreamListener listener, List<Photo> chunk) {
+        mainHandler.post(() -> {
+            if (call == currentCall) {
+                listener.onChunk(chunk);
+            }
+        });
+    }
+    
+    public boolean isLoading() {
+        return currentCall != null;
+    }
+    
+    /**
+     * Stop the stream in flight (call from onDestroy)
+     */
+    public void cancel() {
+        Call<ResponseBody> call = currentCall;
+        currentCall = null;
+        if (call != null) {
+            call.cancel();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.mobilegiuaky.api;
+
+import com.example.mobilegiuaky.model.Photo;
+import com.example.mobilegiuaky.model.PhotoChanges;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * ✅ GOOD: Delta sync - fetch only what changed since the last sync and merge it
+ * into the list already in memory, instead of downloading the whole catalog again.
+ */
+public class PhotoSyncManager {
+    
+    // Feed order: newest first (created_at DESC, id DESC) - same as the server
+    private static final Comparator<Photo> FEED_ORDER = (p1, p2) -> {
+        String c1 = p1.getCreatedAt() != null ? p1.getCreatedAt() : "";
+        String c2 = p2.getCreatedAt() != null ? p2.getCreatedAt() : "";
+        int cmp = c2.compareTo(c1);
+        return cmp != 0 ? cmp : Integer.compare(p2.getId(), p1.getId());
+    };
+    
+    private final ApiService apiService;
+    private String since;
+    private Call<PhotoChanges> currentCall;
+    
+    public interface SyncListener {
+        void onSynced(MergeResult result);
+        void onError(String error);
+    }
+    
+    /**
+     * What a merge changed in the target list
+     */
+    public static class MergeResult {
+        public int inserted;
+        public int updated;
+        public int removed;
+        
+        public boolean hasChanges() {
+            return inserted + updated + removed > 0;
+        }
+        
+        @Override
+        public String toString() {
+            return "+" + inserted + " ~" + updated + " -" + removed;
+        }
+    }
+    
+    public PhotoSyncManager(ApiService apiService) {
+        this.apiService = apiService;
+    }
+    
+    /**
+     * Start syncing from this server time (from the last full or first-page load)
+     */
+    public void setSince(String serverTime) {
+        this.since = serverTime;
+    }
+    
+    public boolean canSync() {
+        return since != null;
+    }
+    
+    /**
+     * Fetch changes since the last sync and merge them into target.
+     * 
+     * @param complete true if target holds the whole catalog; otherwise new rows older
+     *                 than the last loaded one are skipped (they arrive with a later page)
+     */
+    public void sync(List<Photo> target, boolean complete, SyncListener listener) {
+        if (since == null) {
+            listener.onError("No sync point yet");
+            return;
+        }
+        cancel();
+        
+        currentCall = apiService.getChanges(since, ApiService.LIST_FIELDS);
+        currentCall.enqueue(new Callback<PhotoChanges>() {
+            @Override
+            public void onResponse(Call<PhotoChanges> call, Response<PhotoChanges> response) {
+                currentCall = null;
+                if (response.isSuccessful() && response.body() != null) {
+                    PhotoChanges changes = response.body();
+                    MergeResult result = merge(target, changes, complete);
+                    if (changes.getServerTime() != null) {
+                        since = changes.getServerTime();
+                    }
+                    listener.onSynced(result);
+                } else {
+                    listener.onError("HTTP " + response.code());
+                }
+            }
+            
+            @Override
+            public void onFailure(Call<PhotoChanges> call, Throwable t) {
+                if (call.isCanceled()) return;
+                currentCall = null;
+                listener.onError(t.getMessage());
+            }
+        });
+    }
+    
+    public void cancel() {
+        if (currentCall != null) {
+            currentCall.cancel();
+            currentCall = null;
+        }
+    }
+    
+    /**
+     * Apply a delta to a list kept in feed order: O(n) for the index
+     * plus O(log n) per new row to find its position.
+     */
+    public static MergeResult merge(List<Photo> target, PhotoChanges changes, boolean complete) {
+        MergeResult result = new MergeResult();
+        
+        // 1. Tombstones
+        List<Integer> deleted = changes.getDeleted();
+        if (deleted != null && !deleted.isEmpty()) {
+            Set<Integer> deletedIds = new HashSet<>(deleted);
+            int before = target.size();
+            target.removeIf(photo -> deletedIds.contains(photo.getId()));
+            result.removed = before - target.size();
+        }
+        
+        List<Photo> upserts = changes.getUpserts();
+        if (upserts == null || upserts.isEmpty()) {
+            return result;
+        }
+        
+        // 2. Replace rows we already hold, collect the new ones
+        Map<Integer, Integer> positionById = new HashMap<>(target.size() * 2);
+        for (int i = 0; i < target.size(); i++) {
+            positionById.put(target.get(i).getId(), i);
+        }
+        
+        List<Photo> newPhotos = new ArrayList<>();
+        for (Photo photo : upserts) {
+            Integer position = positionById.get(photo.getId());
+            if (position != null) {
+                target.set(position, photo);
+                result.updated++;
+            } else {
+                newPhotos.add(photo);
+            }
+        }
+        
+        // 3. Insert new rows at their feed position
+        for (Photo photo : newPhotos) {
+            int index = Collections.binarySearch(target, photo, FEED_ORDER);
+            int insertAt = index >= 0 ? index : -(index + 1);
+            if (insertAt == target.size() && !complete) {
+                continue; // Belongs to a page that is not loaded yet
+            }
+            target.add(insertAt, photo);
+            result.inserted++;
+        }
+        
+        return result;
+    }
+}
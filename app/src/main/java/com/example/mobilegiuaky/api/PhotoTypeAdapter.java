@@ -0,0 +1,126 @@
+package com.example.mobilegiuaky.api;
+
+import com.example.mobilegiuaky.model.Photo;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ✅ GOOD: Hand-written Gson TypeAdapter for Photo
+ * 
+ * Gson's default adapter walks the @SerializedName fields with reflection for
+ * every element of every list. This one reads fields with a switch on the JSON
+ * name and calls the setters directly.
+ * 
+ * Timestamps repeat across rows (bulk-created photos share created_at and
+ * updated_at), so they go through a small LRU pool and a big list keeps one
+ * copy of each instead of one per row. Free text is never pooled.
+ */
+public class PhotoTypeAdapter extends TypeAdapter<Photo> {
+    
+    // Recent timestamps only - old ones are evicted instead of pinned for the app's lifetime
+    private static final int MAX_POOL_SIZE = 256;
+    
+    private final Map<String, String> stringPool = new LinkedHashMap<String, String>(MAX_POOL_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_POOL_SIZE;
+        }
+    };
+    
+    @Override
+    public Photo read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        
+        Photo photo = new Photo();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    photo.setId(in.nextInt());
+                    break;
+                case "title":
+                    photo.setTitle(in.nextString());
+                    break;
+                case "description":
+                    photo.setDescription(in.nextString());
+                    break;
+                case "summary":
+                    photo.setSummary(in.nextString());
+                    break;
+                case "image_url":
+                    photo.setImageUrl(in.nextString());
+                    break;
+                case "file_name":
+                    photo.setFileName(in.nextString());
+                    break;
+                case "file_size_kb":
+                    photo.setFileSizeKb(in.nextInt());
+                    break;
+                case "created_at":
+                    photo.setCreatedAt(intern(in.nextString()));
+                    break;
+                case "updated_at":
+                    photo.setUpdatedAt(intern(in.nextString()));
+                    break;
+                default:
+                    in.skipValue(); // Unknown field from a newer server
+                    break;
+            }
+        }
+        in.endObject();
+        return photo;
+    }
+    
+    @Override
+    public void write(JsonWriter out, Photo photo) throws IOException {
+        if (photo == null) {
+            out.nullValue();
+            return;
+        }
+        
+        // Same output as the reflective adapter: nulls are left out
+        out.beginObject();
+        out.name("id").value(photo.getId());
+        writeString(out, "title", photo.getTitle());
+        writeString(out, "description", photo.getDescription());
+        writeString(out, "summary", photo.getSummary());
+        writeString(out, "image_url", photo.getImageUrl());
+        writeString(out, "file_name", photo.getFileName());
+        out.name("file_size_kb").value(photo.getFileSizeKb());
+        writeString(out, "created_at", photo.getCreatedAt());
+        writeString(out, "updated_at", photo.getUpdatedAt());
+        out.endObject();
+    }
+    
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+    
+    // Shared by Retrofit's converter and the stream decoder threads
+    private String intern(String value) {
+        synchronized (stringPool) {
+            String pooled = stringPool.get(value);
+            if (pooled != null) {
+                return pooled;
+            }
+            stringPool.put(value, value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.mobilegiuaky.model;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+/**
+ * Response of DELETE /api/photos/batch
+ */
+public class BatchDeleteResult {
+
+    @SerializedName("deleted")
+    private int deleted;
+
+    // Ids that existed and were removed
+    @SerializedName("ids")
+    private List<Integer> ids;
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+}
@@ -17,6 +17,10 @@ public class Photo implements Serializable {
     @SerializedName("description")
     private String description;
     
+    // Short description for list rows (only sent when requested via ?fields=)
+    @SerializedName("summary")
+    private String summary;
+    
     @SerializedName("image_url")
     private String imageUrl;
     
@@ -69,6 +73,28 @@ public class Photo implements Serializable {
         this.description = description;
     }
 
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    /**
+     * Text for list rows: the summary from a slim list, else the full description
+     */
+    public String getListDescription() {
+        return summary != null ? summary : description;
+    }
+
+    /**
+     * false for rows from a slim list (?fields=) - fetch the full record before showing details
+     */
+    public boolean hasDetails() {
+        return description != null && fileName != null;
+    }
+
     public String getImageUrl() {
         return imageUrl;
     }
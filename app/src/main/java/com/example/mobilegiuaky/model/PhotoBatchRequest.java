@@ -0,0 +1,37 @@
+package com.example.mobilegiuaky.model;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+/**
+ * Body for the batch endpoints: { photos: [...] } to create, { ids: [...] } to delete
+ */
+public class PhotoBatchRequest {
+
+    @SerializedName("photos")
+    private List<Photo> photos;
+
+    @SerializedName("ids")
+    private List<Integer> ids;
+
+    private PhotoBatchRequest(List<Photo> photos, List<Integer> ids) {
+        this.photos = photos;
+        this.ids = ids;
+    }
+
+    public static PhotoBatchRequest create(List<Photo> photos) {
+        return new PhotoBatchRequest(photos, null);
+    }
+
+    public static PhotoBatchRequest delete(List<Integer> ids) {
+        return new PhotoBatchRequest(null, ids);
+    }
+
+    public List<Photo> getPhotos() {
+        return photos;
+    }
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.mobilegiuaky.model;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+/**
+ * Delta sync payload - photos created/updated and ids deleted since a sync point
+ */
+public class PhotoChanges {
+
+    @SerializedName("upserts")
+    private List<Photo> upserts;
+
+    @SerializedName("deleted")
+    private List<Integer> deleted;
+
+    // Pass this as "since" on the next sync
+    @SerializedName("server_time")
+    private String serverTime;
+
+    public List<Photo> getUpserts() {
+        return upserts;
+    }
+
+    public List<Integer> getDeleted() {
+        return deleted;
+    }
+
+    public String getServerTime() {
+        return serverTime;
+    }
+}
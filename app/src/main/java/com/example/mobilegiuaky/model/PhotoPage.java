@@ -0,0 +1,49 @@
+package com.example.mobilegiuaky.model;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+/**
+ * One page of the photo feed (cursor pagination)
+ */
+public class PhotoPage {
+
+    @SerializedName("items")
+    private List<Photo> items;
+
+    // Opaque cursor to pass as "after" for the next page (null on the last page)
+    @SerializedName("next_cursor")
+    private String nextCursor;
+
+    @SerializedName("has_more")
+    private boolean hasMore;
+
+    // Sync point for delta sync (GET /api/photos/changes?since=)
+    @SerializedName("server_time")
+    private String serverTime;
+
+    public PhotoPage() {}
+
+    public PhotoPage(List<Photo> items, String nextCursor, boolean hasMore, String serverTime) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.serverTime = serverTime;
+    }
+
+    public List<Photo> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public String getServerTime() {
+        return serverTime;
+    }
+}
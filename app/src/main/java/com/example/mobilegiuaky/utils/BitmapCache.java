@@ -0,0 +1,517 @@
+package com.example.mobilegiuaky.utils;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.util.Log;
+import android.util.LruCache;
+
+import com.example.mobilegiuaky.api.ApiClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * ✅ GOOD: Two-tier image cache
+ *
+ * 1. Memory: decoded bitmaps in an LRU bounded by bytes (1/8 of the heap)
+ * 2. Disk:   encoded image bytes keyed by URL, LRU bounded at 50 MB
+ *
+ * A repeat view is a memory hit (no decode), or a disk hit after a process
+ * restart or for another target size (decode only, no network). Concurrent
+ * requests for a URL that is still downloading wait for that transfer
+ * instead of starting their own. Network misses download into the disk
+ * directory through ResumableDownloader, so a dropped transfer continues
+ * from where it stopped. Images are
+ * treated as immutable per URL, unlike the HTTP cache, which also needs cache
+ * headers that picsum and friends do not reliably send.
+ *
+ * Bitmaps handed out are shared - callers must not recycle(), modify or pool them.
+ */
+public class BitmapCache {
+
+    private static final String TAG = "BitmapCache";
+
+    private static final int MEMORY_CACHE_DIVIDER = 8; // 1/8 of max heap
+    private static final long DISK_CACHE_SIZE = 50L * 1024 * 1024; // 50 MB
+    private static final String DISK_CACHE_DIR = "bitmap_cache";
+    private static final String DOWNLOAD_SUFFIX = ".download"; // + ".part"/".meta" while in progress
+    private static final long PARTIAL_MAX_AGE_MS = 24L * 60 * 60 * 1000; // Resume window
+
+    // Counters
+    private static final AtomicInteger memoryHits = new AtomicInteger();
+    private static final AtomicInteger diskHits = new AtomicInteger();
+    private static final AtomicInteger misses = new AtomicInteger();
+    private static final AtomicInteger joinedDownloads = new AtomicInteger();
+    private static final AtomicInteger memoryEvictions = new AtomicInteger();
+    private static final AtomicInteger diskEvictions = new AtomicInteger();
+
+    private static final LruCache<String, Bitmap> memoryCache = new LruCache<String, Bitmap>(
+            (int) Math.min(Runtime.getRuntime().maxMemory() / MEMORY_CACHE_DIVIDER, Integer.MAX_VALUE)) {
+        @Override
+        protected int sizeOf(String key, Bitmap bitmap) {
+            return bitmap.getAllocationByteCount();
+        }
+
+        @Override
+        protected void entryRemoved(boolean evicted, String key, Bitmap oldValue, Bitmap newValue) {
+            if (evicted) {
+                memoryEvictions.incrementAndGet();
+            }
+        }
+    };
+
+    // Downloads in progress, by disk key - later callers wait on the same task
+    private static final ConcurrentHashMap<String, Download> inFlight = new ConcurrentHashMap<>();
+
+    // Disk tier: file name -> size, in access order (eldest = least recently used)
+    private static final Object diskLock = new Object();
+    private static File diskDir;
+    private static LinkedHashMap<String, Long> diskIndex;
+    private static long diskSize;
+
+    /**
+     * Call once from Application.onCreate(). Without it only the memory tier is used.
+     * The directory is scanned lazily on the first disk access (off the main thread).
+     */
+    public static void init(Context context) {
+        synchronized (diskLock) {
+            if (diskDir == null) {
+                diskDir = new File(context.getApplicationContext().getCacheDir(), DISK_CACHE_DIR);
+            }
+        }
+    }
+
+    /**
+     * Memory tier only - safe to call on the main thread
+     */
+    public static Bitmap peek(String url, int reqWidth, int reqHeight, boolean allowRgb565) {
+        Bitmap bitmap = memoryCache.get(memoryKey(url, reqWidth, reqHeight, allowRgb565));
+        if (bitmap != null) {
+            memoryHits.incrementAndGet();
+        }
+        return bitmap;
+    }
+
+    /**
+     * Memory tier only, not counted as a hit (e.g. to skip a prefetch)
+     */
+    public static boolean contains(String url, int reqWidth, int reqHeight, boolean allowRgb565) {
+        return memoryCache.get(memoryKey(url, reqWidth, reqHeight, allowRgb565)) != null;
+    }
+
+    /**
+     * Screen-sized, full color - for callers that do not know their view size
+     */
+    public static Bitmap load(String url) throws IOException {
+        return load(url, BitmapDecoder.screenWidth(), BitmapDecoder.screenHeight(), false);
+    }
+
+    /**
+     * Memory -> disk -> network, decoded for the target size (see BitmapDecoder).
+     * Blocking: call on a background thread.
+     */
+    public static Bitmap load(String url, int reqWidth, int reqHeight, boolean allowRgb565) throws IOException {
+        return load(url, reqWidth, reqHeight, allowRgb565, null);
+    }
+
+    /**
+     * Same, reporting download progress (on this thread) when the image comes from the network
+     */
+    public static Bitmap load(String url, int reqWidth, int reqHeight, boolean allowRgb565,
+                              ResumableDownloader.ProgressListener listener) throws IOException {
+        Bitmap bitmap = peek(url, reqWidth, reqHeight, allowRgb565);
+        if (bitmap != null) {
+            return bitmap;
+        }
+
+        String memoryKey = memoryKey(url, reqWidth, reqHeight, allowRgb565);
+        String key = keyFor(url);
+        byte[] bytes = readFromDisk(key);
+        if (bytes != null) {
+            bitmap = BitmapDecoder.decode(bytes, reqWidth, reqHeight, allowRgb565);
+            if (bitmap != null) {
+                diskHits.incrementAndGet();
+                return cache(memoryKey, bitmap);
+            }
+            removeFromDisk(key); // Unreadable entry
+        }
+
+        misses.incrementAndGet();
+        bytes = fetch(url, key, listener).bytes();
+        bitmap = BitmapDecoder.decode(bytes, reqWidth, reqHeight, allowRgb565);
+        if (bitmap == null) {
+            removeFromDisk(key);
+            throw new IOException("Not a decodable image: " + url);
+        }
+        return cache(memoryKey, bitmap);
+    }
+
+    /**
+     * The encoded image bytes (disk, then network), e.g. to save the original file.
+     * Shares the transfer with any load() of the same URL in progress.
+     * Blocking: call on a background thread. The array must not be modified.
+     */
+    public static byte[] loadBytes(String url) throws IOException {
+        String key = keyFor(url);
+        byte[] bytes = readFromDisk(key);
+        return bytes != null ? bytes : fetch(url, key, null).bytes();
+    }
+
+    /**
+     * Another thread may have decoded the same image meanwhile: keep the bitmap
+     * already handed out and give our duplicate (never shared) to BitmapPool
+     */
+    private static Bitmap cache(String memoryKey, Bitmap bitmap) {
+        Bitmap existing;
+        synchronized (memoryCache) {
+            existing = memoryCache.get(memoryKey);
+            if (existing == null) {
+                memoryCache.put(memoryKey, bitmap);
+                return bitmap;
+            }
+        }
+        BitmapPool.put(bitmap);
+        return existing;
+    }
+
+    /**
+     * The encoded image as a stream: the disk entry itself, downloaded into it first
+     * on a miss, so a large original is copied in chunks rather than read into memory.
+     * Blocking: call on a background thread. The caller closes the stream.
+     */
+    public static InputStream openStream(String url) throws IOException {
+        String key = keyFor(url);
+        File file = diskFile(key);
+        if (file != null) {
+            try {
+                return new FileInputStream(file);
+            } catch (FileNotFoundException e) {
+                removeFromDisk(key); // Deleted behind our back
+            }
+        }
+        return fetch(url, key, null).open();
+    }
+
+    // Disk holds the original bytes once; memory holds one decode per target size
+    private static String memoryKey(String url, int reqWidth, int reqHeight, boolean allowRgb565) {
+        return url + '#' + reqWidth + 'x' + reqHeight + (allowRgb565 ? ":565" : "");
+    }
+
+    /**
+     * Release memory when the system asks (from Application.onTrimMemory)
+     */
+    public static void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+            memoryCache.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            memoryCache.trimToSize(memoryCache.maxSize() / 2);
+        }
+    }
+
+    public static String getStats() {
+        return String.format("memory %d hits, disk %d hits, %d misses (%d joined a download) | "
+                        + "evicted memory %d, disk %d | memory %d/%d KB, disk %d KB",
+                memoryHits.get(), diskHits.get(), misses.get(), joinedDownloads.get(),
+                memoryEvictions.get(), diskEvictions.get(),
+                memoryCache.size() / 1024, memoryCache.maxSize() / 1024, getDiskSize() / 1024);
+    }
+
+    public static int getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public static int getDiskHits() {
+        return diskHits.get();
+    }
+
+    public static int getMisses() {
+        return misses.get();
+    }
+
+    // ==================== Network ====================
+
+    /**
+     * One download per URL at a time: the first caller runs it on its own thread,
+     * callers arriving meanwhile block on the same task and get the same result
+     * (and the same progress updates from then on)
+     */
+    private static Fetched fetch(String url, String key, ResumableDownloader.ProgressListener listener)
+            throws IOException {
+        Download download = new Download(url, key);
+        Download running = inFlight.putIfAbsent(key, download);
+        if (running == null) {
+            running = download;
+            running.addListener(listener);
+            try {
+                download.task.run();
+            } finally {
+                inFlight.remove(key, download);
+            }
+        } else {
+            joinedDownloads.incrementAndGet();
+            running.addListener(listener);
+        }
+
+        try {
+            return running.task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("Download failed: " + url, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + url);
+        } finally {
+            running.listeners.remove(listener);
+        }
+    }
+
+    /**
+     * A finished download: the committed disk entry, or the bytes when there is no disk tier
+     * (or the image is too big for it). Nothing is read until a caller asks for it.
+     */
+    private static final class Fetched {
+        private final File file;
+        private final byte[] bytes;
+
+        Fetched(File file, byte[] bytes) {
+            this.file = file;
+            this.bytes = bytes;
+        }
+
+        byte[] bytes() throws IOException {
+            return bytes != null ? bytes : readFile(file);
+        }
+
+        // Just committed as the most recent entry, so it is the last one the LRU would evict
+        InputStream open() throws IOException {
+            return bytes != null ? new ByteArrayInputStream(bytes) : new FileInputStream(file);
+        }
+    }
+
+    private static final class Download implements ResumableDownloader.ProgressListener {
+        final FutureTask<Fetched> task = new FutureTask<>(this::run);
+        final CopyOnWriteArrayList<ResumableDownloader.ProgressListener> listeners = new CopyOnWriteArrayList<>();
+        private final String url;
+        private final String key;
+
+        Download(String url, String key) {
+            this.url = url;
+            this.key = key;
+        }
+
+        void addListener(ResumableDownloader.ProgressListener listener) {
+            if (listener != null) listeners.add(listener);
+        }
+
+        @Override
+        public void onProgress(long bytesDone, long totalBytes) {
+            for (ResumableDownloader.ProgressListener listener : listeners) {
+                listener.onProgress(bytesDone, totalBytes);
+            }
+        }
+
+        private Fetched run() throws IOException {
+            File target;
+            synchronized (diskLock) {
+                target = ensureDiskIndex() ? new File(diskDir, key + DOWNLOAD_SUFFIX) : null;
+            }
+            if (target == null) {
+                return new Fetched(null, download(url)); // No disk tier: memory only, nothing to resume from
+            }
+
+            // Resumes a partial file left by an earlier failure, then becomes the disk entry
+            ResumableDownloader.download(url, target, this);
+            long length = target.length();
+            if (length > DISK_CACHE_SIZE) {
+                // Would evict everything, itself included - hand it over from memory once
+                byte[] bytes = readFile(target);
+                target.delete();
+                return new Fetched(null, bytes);
+            }
+            // Before leaving inFlight, so no gap where neither has it
+            File entry = commitToDisk(key, target, length);
+            if (entry == null) {
+                throw new IOException("Cannot store " + url);
+            }
+            return new Fetched(entry, null);
+        }
+    }
+
+    private static byte[] download(String url) throws IOException {
+        try (Response response = ApiClient.getHttpClient().newCall(
+                new Request.Builder().url(url).build()).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IOException("HTTP Error: " + response.code());
+            }
+            return response.body().bytes();
+        }
+    }
+
+    // ==================== Disk tier ====================
+
+    private static String keyFor(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(url.hashCode()); // SHA-1 is always available on Android
+        }
+    }
+
+    // The entry's file, marked recently used - or null when not cached
+    private static File diskFile(String key) {
+        File file;
+        synchronized (diskLock) {
+            if (!ensureDiskIndex() || diskIndex.get(key) == null) { // get() marks it recently used
+                return null;
+            }
+            file = new File(diskDir, key);
+        }
+        file.setLastModified(System.currentTimeMillis()); // Keeps LRU order across restarts
+        return file;
+    }
+
+    private static byte[] readFromDisk(String key) {
+        File file = diskFile(key);
+        if (file == null) {
+            return null;
+        }
+
+        // File I/O outside the lock; an entry evicted meanwhile just reads as a miss
+        try {
+            return readFile(file);
+        } catch (IOException e) {
+            removeFromDisk(key);
+            return null;
+        }
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] bytes = new byte[(int) file.length()];
+            int offset = 0;
+            while (offset < bytes.length) {
+                int read = in.read(bytes, offset, bytes.length - offset);
+                if (read < 0) throw new IOException("Short read");
+                offset += read;
+            }
+            return bytes;
+        }
+    }
+
+    // Moves a complete file into place as the entry for key - returns it, or null on failure
+    private static File commitToDisk(String key, File complete, long length) {
+        synchronized (diskLock) {
+            if (length > DISK_CACHE_SIZE) {
+                complete.delete(); // Would evict everything, itself included
+                return null;
+            }
+            File file = new File(diskDir, key);
+            Long previous = diskIndex.remove(key);
+            if (previous != null) {
+                diskSize -= previous;
+            }
+            if (!complete.renameTo(file)) {
+                complete.delete();
+                file.delete();
+                return null;
+            }
+            diskIndex.put(key, length);
+            diskSize += length;
+            trimDisk();
+            return file;
+        }
+    }
+
+    private static void removeFromDisk(String key) {
+        synchronized (diskLock) {
+            if (diskIndex == null) return;
+            Long size = diskIndex.remove(key);
+            if (size != null) {
+                diskSize -= size;
+            }
+            new File(diskDir, key).delete();
+        }
+    }
+
+    private static long getDiskSize() {
+        synchronized (diskLock) {
+            return diskSize;
+        }
+    }
+
+    // Caller holds diskLock
+    private static boolean ensureDiskIndex() {
+        if (diskIndex != null) return true;
+        if (diskDir == null) return false;
+        if (!diskDir.exists() && !diskDir.mkdirs()) {
+            Log.w(TAG, "Cannot create " + diskDir);
+            diskDir = null;
+            return false;
+        }
+
+        diskIndex = new LinkedHashMap<>(64, 0.75f, true);
+        diskSize = 0;
+        File[] files = diskDir.listFiles();
+        if (files != null) {
+            // Oldest first, so the index starts in LRU order
+            Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(".tmp")) {
+                    file.delete(); // Left over from a crash
+                    continue;
+                }
+                if (name.contains(DOWNLOAD_SUFFIX)) {
+                    // Partial download kept for resuming - not an entry; dropped once stale
+                    if (System.currentTimeMillis() - file.lastModified() > PARTIAL_MAX_AGE_MS) {
+                        file.delete();
+                    }
+                    continue;
+                }
+                diskIndex.put(file.getName(), file.length());
+                diskSize += file.length();
+            }
+        }
+        trimDisk();
+        return true;
+    }
+
+    // Caller holds diskLock
+    private static void trimDisk() {
+        Iterator<Map.Entry<String, Long>> eldest = diskIndex.entrySet().iterator();
+        while (diskSize > DISK_CACHE_SIZE && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            new File(diskDir, entry.getKey()).delete();
+            diskSize -= entry.getValue();
+            eldest.remove();
+            diskEvictions.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.mobilegiuaky.utils;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.DisplayMetrics;
+
+/**
+ * ✅ GOOD: Decode images at the size they are displayed, not the size they were shot
+ *
+ * BitmapFactory.decodeStream() without options turns an 800x600 JPEG into a
+ * 1.9 MB ARGB_8888 bitmap, even for a 100dp thumbnail. Here:
+ * 1. a bounds-only pass reads the header (no pixels allocated),
+ * 2. inSampleSize skips pixels by powers of 2 while staying >= the target,
+ * 3. inDensity/inTargetDensity scales the rest down to the target inside the decoder,
+ * 4. opaque formats (JPEG) can use RGB_565 - half the bytes per pixel,
+ * 5. pixels go into a reused bitmap from BitmapPool when one fits (inBitmap).
+ *
+ * Sizes are "cover" sizes (like centerCrop): both sides end up >= the request.
+ * A request of 0 x 0 keeps the original size.
+ */
+public final class BitmapDecoder {
+
+    private BitmapDecoder() {}
+
+    /**
+     * @param reqWidth     target width in px (0 = original size)
+     * @param reqHeight    target height in px (0 = original size)
+     * @param allowRgb565  use RGB_565 for opaque formats
+     * @return the decoded bitmap, or null if data is not a decodable image
+     */
+    public static Bitmap decode(byte[] data, int reqWidth, int reqHeight, boolean allowRgb565) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+
+        // Pass 1: header only
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+
+        // Pass 2: sampled + scaled decode, into a pooled bitmap if there is one
+        configure(options, reqWidth, reqHeight, allowRgb565);
+        options.inMutable = true; // Required for inBitmap, and lets the result go back to the pool
+        options.inBitmap = BitmapPool.get(estimateByteCount(options));
+        Bitmap bitmap;
+        try {
+            bitmap = BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        } catch (IllegalArgumentException e) {
+            // The decoder refused the reused bitmap - decode into a new one
+            options.inBitmap = null;
+            bitmap = BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        }
+        if (bitmap != null) {
+            // inDensity/inTargetDensity were pixel counts, not dpi: left on the bitmap they would
+            // make BitmapDrawable report a wrong intrinsic size (wrap_content, fitCenter)
+            bitmap.setDensity(Resources.getSystem().getDisplayMetrics().densityDpi);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Upper bound of the decoded bitmap size, from options set by configure()
+     */
+    static int estimateByteCount(BitmapFactory.Options options) {
+        int sampleSize = options.inSampleSize;
+        long width = (options.outWidth + sampleSize - 1) / sampleSize;
+        long height = (options.outHeight + sampleSize - 1) / sampleSize;
+        if (options.inScaled && options.inDensity > 0 && options.inTargetDensity > 0
+                && options.inTargetDensity < options.inDensity) {
+            // +1: the decoder may round either side up
+            width = width * options.inTargetDensity / options.inDensity + 1;
+            height = height * options.inTargetDensity / options.inDensity + 1;
+        }
+        int bytesPerPixel = options.inPreferredConfig == Bitmap.Config.RGB_565 ? 2 : 4;
+        return (int) Math.min(width * height * bytesPerPixel, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Turn bounds-pass options (outWidth/outHeight/outMimeType set) into decode options
+     */
+    static void configure(BitmapFactory.Options options, int reqWidth, int reqHeight, boolean allowRgb565) {
+        int width = options.outWidth;
+        int height = options.outHeight;
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = calculateInSampleSize(width, height, reqWidth, reqHeight);
+
+        if (reqWidth > 0 && reqHeight > 0) {
+            int sampledWidth = width / options.inSampleSize;
+            int sampledHeight = height / options.inSampleSize;
+            float scale = Math.max((float) reqWidth / sampledWidth, (float) reqHeight / sampledHeight);
+            if (scale < 1f) {
+                // Still larger than needed: the decoder scales the rest in the same pass
+                options.inScaled = true;
+                options.inDensity = sampledWidth;
+                options.inTargetDensity = Math.max(1, Math.round(sampledWidth * scale));
+            }
+        }
+
+        if (allowRgb565 && isOpaqueFormat(options.outMimeType)) {
+            options.inPreferredConfig = Bitmap.Config.RGB_565;
+        }
+    }
+
+    /**
+     * Largest power of 2 that keeps both sides >= the requested size
+     */
+    public static int calculateInSampleSize(int width, int height, int reqWidth, int reqHeight) {
+        int sampleSize = 1;
+        if (reqWidth <= 0 || reqHeight <= 0) {
+            return sampleSize;
+        }
+        while (width / (sampleSize * 2) >= reqWidth && height / (sampleSize * 2) >= reqHeight) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private static boolean isOpaqueFormat(String mimeType) {
+        // JPEG has no alpha channel; PNG/WebP/GIF may
+        return "image/jpeg".equals(mimeType);
+    }
+
+    // ==================== Target sizes ====================
+
+    public static int dpToPx(int dp) {
+        return Math.round(dp * Resources.getSystem().getDisplayMetrics().density);
+    }
+
+    /**
+     * Default target when the caller has no view size: never decode larger than the screen
+     */
+    public static int screenWidth() {
+        DisplayMetrics metrics = Resources.getSystem().getDisplayMetrics();
+        return Math.min(metrics.widthPixels, metrics.heightPixels);
+    }
+
+    public static int screenHeight() {
+        DisplayMetrics metrics = Resources.getSystem().getDisplayMetrics();
+        return Math.max(metrics.widthPixels, metrics.heightPixels);
+    }
+}
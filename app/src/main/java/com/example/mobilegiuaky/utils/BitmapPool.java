@@ -0,0 +1,121 @@
+package com.example.mobilegiuaky.utils;
+
+import android.content.ComponentCallbacks2;
+import android.graphics.Bitmap;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ✅ GOOD: Pool of reusable bitmaps for BitmapFactory.Options.inBitmap
+ *
+ * Decoding into a recycled bitmap skips a multi-megabyte allocation (and the GC
+ * that follows). Since KitKat, any mutable bitmap whose allocation is large enough
+ * can be reused for any size/config, so bitmaps are grouped by allocation size:
+ * get() returns the smallest pooled one that fits, at most 2x bigger than needed.
+ *
+ * Only put() bitmaps nobody draws anymore (e.g. a view's own bitmap when the view
+ * is recycled). Bitmaps from BitmapCache are shared and must not be pooled.
+ */
+public class BitmapPool {
+
+    private static final int POOL_DIVIDER = 16; // 1/16 of max heap
+    private static final int MAX_SIZE_MULTIPLE = 2; // Do not hand out a bitmap > 2x what was asked
+
+    private static final long maxBytes = Runtime.getRuntime().maxMemory() / POOL_DIVIDER;
+
+    // Size class (allocation byte count) -> bitmaps of that size
+    private static final TreeMap<Integer, ArrayDeque<Bitmap>> bySize = new TreeMap<>();
+    // Every pooled bitmap, oldest first - evicted first when over budget
+    private static final LinkedHashMap<Bitmap, Integer> byAge = new LinkedHashMap<>();
+    private static long pooledBytes;
+
+    // Stats
+    private static int hits;
+    private static int misses;
+    private static int puts;
+    private static int rejected;
+    private static int evictions;
+
+    /**
+     * @return a mutable bitmap with at least minByteCount bytes allocated, or null
+     */
+    public static synchronized Bitmap get(int minByteCount) {
+        Map.Entry<Integer, ArrayDeque<Bitmap>> entry = bySize.ceilingEntry(minByteCount);
+        if (entry == null || entry.getKey() > (long) minByteCount * MAX_SIZE_MULTIPLE) {
+            misses++;
+            return null;
+        }
+
+        Bitmap bitmap = entry.getValue().pollLast(); // Most recently returned
+        if (entry.getValue().isEmpty()) {
+            bySize.remove(entry.getKey());
+        }
+        byAge.remove(bitmap);
+        pooledBytes -= entry.getKey();
+        hits++;
+        return bitmap;
+    }
+
+    /**
+     * Return a bitmap that is no longer drawn anywhere
+     */
+    public static synchronized void put(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable() || byAge.containsKey(bitmap)) {
+            rejected++;
+            return;
+        }
+        int size = bitmap.getAllocationByteCount();
+        if (size > maxBytes) {
+            rejected++;
+            return;
+        }
+
+        ArrayDeque<Bitmap> bucket = bySize.get(size);
+        if (bucket == null) {
+            bucket = new ArrayDeque<>();
+            bySize.put(size, bucket);
+        }
+        bucket.addLast(bitmap);
+        byAge.put(bitmap, size);
+        pooledBytes += size;
+        puts++;
+        trimToSize(maxBytes);
+    }
+
+    /**
+     * Release memory when the system asks (from Application.onTrimMemory)
+     */
+    public static synchronized void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+            trimToSize(0);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            trimToSize(maxBytes / 2);
+        }
+    }
+
+    public static synchronized String getStats() {
+        return String.format("pool %d hits, %d misses, %d puts, %d rejected, %d evicted | %d/%d KB",
+                hits, misses, puts, rejected, evictions, pooledBytes / 1024, maxBytes / 1024);
+    }
+
+    // Caller holds the class lock
+    private static void trimToSize(long limit) {
+        Iterator<Map.Entry<Bitmap, Integer>> oldest = byAge.entrySet().iterator();
+        while (pooledBytes > limit && oldest.hasNext()) {
+            Map.Entry<Bitmap, Integer> entry = oldest.next();
+            ArrayDeque<Bitmap> bucket = bySize.get(entry.getValue());
+            bucket.remove(entry.getKey());
+            if (bucket.isEmpty()) {
+                bySize.remove(entry.getValue());
+            }
+            pooledBytes -= entry.getValue();
+            oldest.remove();
+            evictions++;
+            // Not recycled: the GC frees it once unreferenced
+        }
+    }
+}
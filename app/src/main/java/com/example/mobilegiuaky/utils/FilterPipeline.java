@@ -0,0 +1,624 @@
+package com.example.mobilegiuaky.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ✅ GOOD: Chain of image filters on int[] ARGB buffers (row-major, width x height)
+ *
+ * <pre>
+ * FilterPipeline pipeline = new FilterPipeline.Builder()
+ *         .grayscale().gamma(0.8).gaussianBlur(1.5f).resize(400, 300).brightnessContrast(10, 1.2f)
+ *         .build();
+ * FilterPipeline.Image out = pipeline.apply(pixels, width, height);
+ * </pre>
+ *
+ * Instead of one full-image pass per filter:
+ * 1. consecutive point operations (grayscale, gamma, brightness/contrast) are fused
+ *    into one set of 256-entry tables, applied in a single pass,
+ * 2. point operations that follow a blur or resize are applied while that pass writes
+ *    its output, so they cost no pass of their own,
+ * 3. every pass runs tile by tile on OptimizedProcessor's fork-join pool; blurs read
+ *    each tile plus a halo of `radius` pixels (edges are clamped).
+ *
+ * Memory: at most two image-sized buffers (ping-pong between passes) plus one
+ * tile-sized scratch array per worker, however many filters are chained.
+ * The input array is never modified. Alpha is kept as is by point operations,
+ * blurred along with the colour channels and averaged by resize.
+ *
+ * A pipeline is immutable and can be shared between threads. Still CPU-heavy:
+ * call apply() on a background thread.
+ */
+public final class FilterPipeline {
+
+    static final int DEFAULT_TILE_SIZE = 128;
+
+    // Fixed-point precision of the convolution weights
+    private static final int WEIGHT_SHIFT = 16;
+    private static final int WEIGHT_ONE = 1 << WEIGHT_SHIFT;
+
+    // Horizontal-pass rows of one tile (plus halo), reused by each worker thread
+    private static final ThreadLocal<int[]> scratch = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[0];
+        }
+    };
+
+    private final List<Pass> passes;
+    private final int tileSize;
+
+    private FilterPipeline(List<Pass> passes, int tileSize) {
+        this.passes = passes;
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * Result buffer; may be larger than width * height when a resize shrank the image
+     * after a bigger pass, so index it with width only
+     */
+    public static final class Image {
+        public final int[] pixels;
+        public final int width;
+        public final int height;
+
+        Image(int[] pixels, int width, int height) {
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /**
+     * Number of full-image passes apply() makes (the fused form of the chain)
+     */
+    public int getPassCount() {
+        return passes.size();
+    }
+
+    public Image apply(int[] pixels, int width, int height) {
+        if (width <= 0 || height <= 0 || pixels.length < width * height) {
+            throw new IllegalArgumentException("Buffer smaller than " + width + "x" + height);
+        }
+
+        int[] current = pixels;
+        int[] spare = null;
+        boolean owned = false; // false while current is the caller's array
+        int currentWidth = width;
+        int currentHeight = height;
+
+        for (Pass pass : passes) {
+            int outWidth = pass.outputWidth(currentWidth, currentHeight);
+            int outHeight = pass.outputHeight(currentWidth, currentHeight);
+            int outSize = outWidth * outHeight;
+
+            int[] target;
+            if (pass.inPlace() && owned) {
+                target = current;
+            } else if (spare != null && spare.length >= outSize) {
+                target = spare;
+            } else {
+                target = new int[outSize];
+            }
+
+            runTiled(pass, current, currentWidth, currentHeight, target, outWidth, outHeight);
+
+            if (target != current) {
+                // The previous buffer becomes the next pass's output, unless it is the caller's
+                spare = owned ? current : spare;
+                current = target;
+                owned = true;
+            }
+            currentWidth = outWidth;
+            currentHeight = outHeight;
+        }
+
+        if (!owned) {
+            current = pixels.clone(); // Empty pipeline: still never hand out the input array
+        }
+        return new Image(current, currentWidth, currentHeight);
+    }
+
+    private void runTiled(Pass pass, int[] src, int srcWidth, int srcHeight,
+                          int[] dst, int dstWidth, int dstHeight) {
+        int tilesX = (dstWidth + tileSize - 1) / tileSize;
+        int tilesY = (dstHeight + tileSize - 1) / tileSize;
+        TileRange all = new TileRange(pass, src, srcWidth, srcHeight, dst, dstWidth, dstHeight,
+                tilesX, 0, tilesX * tilesY);
+        if (tilesX * tilesY == 1) {
+            all.compute(); // Not worth a hop to the pool
+        } else {
+            OptimizedProcessor.imagePool.invoke(all);
+        }
+    }
+
+    /**
+     * Splits a range of tile indices in half until one tile is left
+     */
+    private final class TileRange extends RecursiveAction {
+        private final Pass pass;
+        private final int[] src;
+        private final int srcWidth;
+        private final int srcHeight;
+        private final int[] dst;
+        private final int dstWidth;
+        private final int dstHeight;
+        private final int tilesX;
+        private final int from;
+        private final int to;
+
+        TileRange(Pass pass, int[] src, int srcWidth, int srcHeight, int[] dst, int dstWidth, int dstHeight,
+                  int tilesX, int from, int to) {
+            this.pass = pass;
+            this.src = src;
+            this.srcWidth = srcWidth;
+            this.srcHeight = srcHeight;
+            this.dst = dst;
+            this.dstWidth = dstWidth;
+            this.dstHeight = dstHeight;
+            this.tilesX = tilesX;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int x0 = (from % tilesX) * tileSize;
+                int y0 = (from / tilesX) * tileSize;
+                pass.run(src, srcWidth, srcHeight, dst, dstWidth,
+                        x0, y0, Math.min(x0 + tileSize, dstWidth), Math.min(y0 + tileSize, dstHeight));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TileRange(pass, src, srcWidth, srcHeight, dst, dstWidth, dstHeight, tilesX, from, middle),
+                    new TileRange(pass, src, srcWidth, srcHeight, dst, dstWidth, dstHeight, tilesX, middle, to));
+        }
+    }
+
+    public static final class Builder {
+        private final List<Object> steps = new ArrayList<>(); // PointOp or Pass, in order
+        private int tileSize = DEFAULT_TILE_SIZE;
+
+        /**
+         * gray = (r + g + b) / 3, as in HeavyProcessor
+         */
+        public Builder grayscale() {
+            steps.add(PointOp.grayscale());
+            return this;
+        }
+
+        /**
+         * v = (int) (pow(v / 255, gamma) * 255) on each colour channel
+         */
+        public Builder gamma(double gamma) {
+            if (!(gamma > 0) || Double.isInfinite(gamma)) {
+                throw new IllegalArgumentException("gamma must be > 0: " + gamma);
+            }
+            int[] lut = new int[256];
+            for (int v = 0; v < 256; v++) {
+                lut[v] = (int) (Math.pow(v / 255.0, gamma) * 255);
+            }
+            steps.add(PointOp.channels(lut));
+            return this;
+        }
+
+        /**
+         * v = (v - 128) * contrast + 128 + brightness, rounded and clamped to 0..255
+         */
+        public Builder brightnessContrast(int brightness, float contrast) {
+            if (!(contrast >= 0) || Float.isInfinite(contrast)) {
+                throw new IllegalArgumentException("contrast must be >= 0: " + contrast);
+            }
+            int[] lut = new int[256];
+            for (int v = 0; v < 256; v++) {
+                lut[v] = clamp(Math.round((v - 128) * contrast + 128 + brightness));
+            }
+            steps.add(PointOp.channels(lut));
+            return this;
+        }
+
+        /**
+         * Mean of the (2 * radius + 1)^2 neighbourhood
+         */
+        public Builder boxBlur(int radius) {
+            if (radius < 0) {
+                throw new IllegalArgumentException("radius must be >= 0: " + radius);
+            }
+            if (radius > 0) {
+                double[] weights = new double[2 * radius + 1];
+                Arrays.fill(weights, 1);
+                steps.add(new ConvolutionPass(normalize(weights)));
+            }
+            return this;
+        }
+
+        /**
+         * Gaussian blur, kernel cut at 3 sigma
+         */
+        public Builder gaussianBlur(float sigma) {
+            if (!(sigma >= 0) || Float.isInfinite(sigma)) {
+                throw new IllegalArgumentException("sigma must be >= 0: " + sigma);
+            }
+            int radius = (int) Math.ceil(3 * sigma);
+            if (radius > 0) {
+                double[] weights = new double[2 * radius + 1];
+                for (int i = -radius; i <= radius; i++) {
+                    weights[i + radius] = Math.exp(-(i * i) / (2.0 * sigma * sigma));
+                }
+                steps.add(new ConvolutionPass(normalize(weights)));
+            }
+            return this;
+        }
+
+        /**
+         * Area-average resize: each output pixel is the mean of the source pixels it
+         * covers (nearest neighbour when enlarging)
+         */
+        public Builder resize(int width, int height) {
+            if (width <= 0 || height <= 0) {
+                throw new IllegalArgumentException("Invalid size " + width + "x" + height);
+            }
+            steps.add(new ResizePass(width, height));
+            return this;
+        }
+
+        // Tests use small tiles to exercise the halo handling on small images
+        Builder tileSize(int tileSize) {
+            if (tileSize <= 0) {
+                throw new IllegalArgumentException("tileSize must be > 0: " + tileSize);
+            }
+            this.tileSize = tileSize;
+            return this;
+        }
+
+        public FilterPipeline build() {
+            List<Pass> passes = new ArrayList<>();
+            PointOp pending = null;
+
+            for (Object step : steps) {
+                if (step instanceof PointOp) {
+                    pending = pending == null ? (PointOp) step : pending.then((PointOp) step);
+                    continue;
+                }
+                flush(passes, pending);
+                pending = null;
+                passes.add((Pass) step);
+            }
+            flush(passes, pending);
+            return new FilterPipeline(Collections.unmodifiableList(passes), tileSize);
+        }
+
+        // Point ops after a blur/resize ride along with it; leading ones get their own pass
+        private static void flush(List<Pass> passes, PointOp pending) {
+            if (pending == null) return;
+            if (passes.isEmpty()) {
+                passes.add(new PointPass(pending));
+            } else {
+                int last = passes.size() - 1;
+                passes.set(last, passes.get(last).withPost(pending));
+            }
+        }
+    }
+
+    /**
+     * Any chain of grayscale and per-channel table lookups, reduced to
+     * pre-tables -> optional grayscale -> post-tables
+     * (a second grayscale after the first is folded into the post-tables)
+     */
+    static final class PointOp {
+        final int[] preR, preG, preB;
+        final boolean gray;
+        final int[] postR, postG, postB;
+
+        private PointOp(int[] preR, int[] preG, int[] preB, boolean gray, int[] postR, int[] postG, int[] postB) {
+            this.preR = preR;
+            this.preG = preG;
+            this.preB = preB;
+            this.gray = gray;
+            this.postR = postR;
+            this.postG = postG;
+            this.postB = postB;
+        }
+
+        static PointOp grayscale() {
+            int[] id = identity();
+            return new PointOp(id, id, id, true, id, id, id);
+        }
+
+        static PointOp channels(int[] lut) {
+            int[] id = identity();
+            return new PointOp(lut, lut, lut, false, id, id, id);
+        }
+
+        /**
+         * This operation followed by next
+         */
+        PointOp then(PointOp next) {
+            // Run next's pre-tables on our output
+            int[] r, g, b;
+            if (gray) {
+                r = compose(postR, next.preR);
+                g = compose(postG, next.preG);
+                b = compose(postB, next.preB);
+            } else {
+                r = compose(preR, next.preR);
+                g = compose(preG, next.preG);
+                b = compose(preB, next.preB);
+            }
+            if (!next.gray) {
+                return gray ? new PointOp(preR, preG, preB, true, r, g, b)
+                        : new PointOp(r, g, b, false, postR, postG, postB);
+            }
+            if (!gray) {
+                return new PointOp(r, g, b, true, next.postR, next.postG, next.postB);
+            }
+            // Already gray: channels are equal, so the second average is a table on the gray level
+            int[] level = new int[256];
+            for (int v = 0; v < 256; v++) {
+                level[v] = (r[v] + g[v] + b[v]) / 3;
+            }
+            return new PointOp(preR, preG, preB, true,
+                    compose(level, next.postR), compose(level, next.postG), compose(level, next.postB));
+        }
+
+        int apply(int pixel) {
+            int r = preR[(pixel >> 16) & 0xFF];
+            int g = preG[(pixel >> 8) & 0xFF];
+            int b = preB[pixel & 0xFF];
+            if (gray) {
+                int v = (r + g + b) / 3;
+                r = postR[v];
+                g = postG[v];
+                b = postB[v];
+            }
+            return (pixel & 0xFF000000) | (r << 16) | (g << 8) | b;
+        }
+
+        private static int[] identity() {
+            int[] lut = new int[256];
+            for (int v = 0; v < 256; v++) {
+                lut[v] = v;
+            }
+            return lut;
+        }
+
+        // second(first(v))
+        private static int[] compose(int[] first, int[] second) {
+            int[] lut = new int[256];
+            for (int v = 0; v < 256; v++) {
+                lut[v] = second[first[v]];
+            }
+            return lut;
+        }
+    }
+
+    /**
+     * One full-image pass; run() fills the output rectangle [x0, x1) x [y0, y1)
+     */
+    abstract static class Pass {
+        final PointOp post; // Fused point operations applied to each output pixel, or null
+
+        Pass(PointOp post) {
+            this.post = post;
+        }
+
+        abstract Pass withPost(PointOp post);
+
+        abstract void run(int[] src, int srcWidth, int srcHeight, int[] dst, int dstWidth,
+                          int x0, int y0, int x1, int y1);
+
+        int outputWidth(int srcWidth, int srcHeight) {
+            return srcWidth;
+        }
+
+        int outputHeight(int srcWidth, int srcHeight) {
+            return srcHeight;
+        }
+
+        // Whether dst may be the same array as src
+        boolean inPlace() {
+            return false;
+        }
+
+        final PointOp chain(PointOp next) {
+            return post == null ? next : post.then(next);
+        }
+    }
+
+    private static final class PointPass extends Pass {
+        PointPass(PointOp op) {
+            super(op);
+        }
+
+        @Override
+        Pass withPost(PointOp next) {
+            return new PointPass(chain(next));
+        }
+
+        @Override
+        void run(int[] src, int srcWidth, int srcHeight, int[] dst, int dstWidth, int x0, int y0, int x1, int y1) {
+            for (int y = y0; y < y1; y++) {
+                int row = y * srcWidth;
+                for (int i = row + x0, end = row + x1; i < end; i++) {
+                    dst[i] = post.apply(src[i]);
+                }
+            }
+        }
+
+        @Override
+        boolean inPlace() {
+            return true;
+        }
+    }
+
+    /**
+     * Separable convolution: horizontal pass over the tile plus `radius` rows above
+     * and below into scratch, then the vertical pass into dst
+     */
+    private static final class ConvolutionPass extends Pass {
+        private final int[] weights; // Fixed point, sum == WEIGHT_ONE
+        private final int radius;
+
+        ConvolutionPass(int[] weights) {
+            this(weights, null);
+        }
+
+        private ConvolutionPass(int[] weights, PointOp post) {
+            super(post);
+            this.weights = weights;
+            this.radius = weights.length / 2;
+        }
+
+        @Override
+        Pass withPost(PointOp next) {
+            return new ConvolutionPass(weights, chain(next));
+        }
+
+        @Override
+        void run(int[] src, int width, int height, int[] dst, int dstWidth, int x0, int y0, int x1, int y1) {
+            int tileWidth = x1 - x0;
+            int rows = (y1 - y0) + 2 * radius;
+            int[] tmp = scratch(tileWidth * rows);
+
+            for (int i = 0; i < rows; i++) {
+                int rowStart = clampIndex(y0 - radius + i, height) * width;
+                int out = i * tileWidth;
+                for (int x = x0; x < x1; x++) {
+                    int a = 0, r = 0, g = 0, b = 0;
+                    for (int k = -radius; k <= radius; k++) {
+                        int pixel = src[rowStart + clampIndex(x + k, width)];
+                        int w = weights[k + radius];
+                        a += w * (pixel >>> 24);
+                        r += w * ((pixel >> 16) & 0xFF);
+                        g += w * ((pixel >> 8) & 0xFF);
+                        b += w * (pixel & 0xFF);
+                    }
+                    tmp[out++] = pack(a, r, g, b);
+                }
+            }
+
+            for (int y = y0; y < y1; y++) {
+                int out = y * dstWidth + x0;
+                int base = (y - y0) * tileWidth; // Row y - radius in scratch
+                for (int x = 0; x < tileWidth; x++) {
+                    int a = 0, r = 0, g = 0, b = 0;
+                    for (int k = 0, index = base + x; k < weights.length; k++, index += tileWidth) {
+                        int pixel = tmp[index];
+                        int w = weights[k];
+                        a += w * (pixel >>> 24);
+                        r += w * ((pixel >> 16) & 0xFF);
+                        g += w * ((pixel >> 8) & 0xFF);
+                        b += w * (pixel & 0xFF);
+                    }
+                    int pixel = pack(a, r, g, b);
+                    dst[out++] = post == null ? pixel : post.apply(pixel);
+                }
+            }
+        }
+
+        private static int pack(int a, int r, int g, int b) {
+            int half = WEIGHT_ONE >> 1;
+            return ((a + half) >> WEIGHT_SHIFT) << 24
+                    | ((r + half) >> WEIGHT_SHIFT) << 16
+                    | ((g + half) >> WEIGHT_SHIFT) << 8
+                    | ((b + half) >> WEIGHT_SHIFT);
+        }
+
+        private static int clampIndex(int i, int size) {
+            return i < 0 ? 0 : (i >= size ? size - 1 : i);
+        }
+    }
+
+    private static final class ResizePass extends Pass {
+        private final int width;
+        private final int height;
+
+        ResizePass(int width, int height) {
+            this(width, height, null);
+        }
+
+        private ResizePass(int width, int height, PointOp post) {
+            super(post);
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        Pass withPost(PointOp next) {
+            return new ResizePass(width, height, chain(next));
+        }
+
+        @Override
+        int outputWidth(int srcWidth, int srcHeight) {
+            return width;
+        }
+
+        @Override
+        int outputHeight(int srcWidth, int srcHeight) {
+            return height;
+        }
+
+        @Override
+        void run(int[] src, int srcWidth, int srcHeight, int[] dst, int dstWidth, int x0, int y0, int x1, int y1) {
+            for (int y = y0; y < y1; y++) {
+                int sy0 = (int) ((long) y * srcHeight / height);
+                int sy1 = Math.max(sy0 + 1, (int) ((long) (y + 1) * srcHeight / height));
+                int out = y * dstWidth + x0;
+                for (int x = x0; x < x1; x++) {
+                    int sx0 = (int) ((long) x * srcWidth / width);
+                    int sx1 = Math.max(sx0 + 1, (int) ((long) (x + 1) * srcWidth / width));
+                    long a = 0, r = 0, g = 0, b = 0;
+                    for (int sy = sy0; sy < sy1; sy++) {
+                        for (int i = sy * srcWidth + sx0, end = sy * srcWidth + sx1; i < end; i++) {
+                            int pixel = src[i];
+                            a += pixel >>> 24;
+                            r += (pixel >> 16) & 0xFF;
+                            g += (pixel >> 8) & 0xFF;
+                            b += pixel & 0xFF;
+                        }
+                    }
+                    long count = (long) (sx1 - sx0) * (sy1 - sy0);
+                    long half = count / 2;
+                    int pixel = (int) ((a + half) / count) << 24
+                            | (int) ((r + half) / count) << 16
+                            | (int) ((g + half) / count) << 8
+                            | (int) ((b + half) / count);
+                    dst[out++] = post == null ? pixel : post.apply(pixel);
+                }
+            }
+        }
+    }
+
+    // Weights scaled to WEIGHT_ONE; the rounding remainder goes to the centre tap
+    private static int[] normalize(double[] weights) {
+        double sum = 0;
+        for (double w : weights) {
+            sum += w;
+        }
+        int[] fixed = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            fixed[i] = (int) Math.round(weights[i] / sum * WEIGHT_ONE);
+            total += fixed[i];
+        }
+        fixed[weights.length / 2] += WEIGHT_ONE - total;
+        return fixed;
+    }
+
+    private static int[] scratch(int size) {
+        int[] buffer = scratch.get();
+        if (buffer.length < size) {
+            buffer = new int[size];
+            scratch.set(buffer);
+        }
+        return buffer;
+    }
+
+    private static int clamp(int v) {
+        return v < 0 ? 0 : (v > 255 ? 255 : v);
+    }
+}
@@ -0,0 +1,453 @@
+package com.example.mobilegiuaky.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * ✅ GOOD: "Which titles are within k edits of the query?" without scanning every title
+ *
+ * HeavyProcessor.inefficientSearch fills a full (m+1) x (n+1) Levenshtein matrix for
+ * every item. Here:
+ * 1. the lowercased titles are built once into a trie (flat arrays, preorder), so
+ *    titles sharing a prefix ("photo 12", "photo 123", ...) share the work,
+ * 2. each trie edge advances Myers' bit-parallel edit distance by one text
+ *    character - a handful of word operations for queries up to 64 chars,
+ * 3. a branch is dropped as soon as no cell in the k-band of its column is <= k,
+ *    since no title below it can end within k edits.
+ *
+ * Titles with the same lowercase text share one trie node; all their indices are
+ * reported. The index is immutable and can be shared between threads; each thread
+ * queries through its own Searcher, which allocates nothing per query.
+ */
+public final class FuzzyIndex {
+
+    private static final int WORD_BITS = 64;
+
+    // Trie in preorder: children of n are n + 1, end[n + 1], end[end[n + 1]], ... up to end[n]
+    private final char[] label;
+    private final int[] end;
+    private final int[] firstItem;   // First title index ending at the node, or -1
+    private final int[] nextItem;    // Next title index with the same text, or -1
+    private final int nodeCount;
+    private final int maxDepth;
+    private final int size;
+
+    /**
+     * Builds the index; O(total title length * log n). Run it off the main thread for large lists.
+     *
+     * @param titles null entries are skipped; results refer to positions in this list
+     */
+    public FuzzyIndex(List<String> titles) {
+        size = titles.size();
+        String[] normalized = new String[size];
+        Integer[] order = new Integer[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            String title = titles.get(i);
+            if (title != null) {
+                normalized[i] = normalize(title);
+                order[count++] = i;
+            }
+        }
+        // Stable: indices of equal titles stay ascending
+        Arrays.sort(order, 0, count, Comparator.comparing(i -> normalized[i]));
+
+        nextItem = new int[size];
+        Arrays.fill(nextItem, -1);
+
+        Builder builder = new Builder(Math.max(16, count * 4));
+        String previous = null;
+        int previousItem = -1;
+        for (int n = 0; n < count; n++) {
+            int item = order[n];
+            String term = normalized[item];
+            if (term.equals(previous)) {
+                nextItem[previousItem] = item;
+            } else {
+                builder.add(term, previous, item);
+                previous = term;
+            }
+            previousItem = item;
+        }
+        builder.finish();
+
+        label = builder.label;
+        end = builder.end;
+        firstItem = builder.firstItem;
+        nodeCount = builder.count;
+        maxDepth = builder.maxDepth;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Trie nodes (memory is roughly 10 bytes per node)
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * A query context. Reuse one per thread: after the first queries it allocates nothing.
+     */
+    public Searcher newSearcher() {
+        return new Searcher();
+    }
+
+    public final class Searcher {
+        private final PatternMasks masks = new PatternMasks();
+        private final long[] pv = new long[maxDepth + 1];
+        private final long[] mv = new long[maxDepth + 1];
+        private final int[] score = new int[maxDepth + 1];
+        private final int[] cursor = new int[maxDepth + 2];
+        private final int[] limit = new int[maxDepth + 2];
+        private char[] query = new char[16];
+        private int[] rows = new int[0]; // DP rows for queries longer than 64 chars
+
+        private Searcher() {}
+
+        /**
+         * Reports every title whose lowercase text is within maxDistance edits
+         * (insert, delete, substitute) of the lowercase query.
+         *
+         * @param consumer receives title indices (positions in the constructor's list)
+         * @return number of titles reported
+         */
+        public int search(CharSequence query, int maxDistance, IntConsumer consumer) {
+            int m = query.length();
+            if (m == 0 || maxDistance < 0) {
+                return 0;
+            }
+            if (this.query.length < m) {
+                this.query = new char[m];
+            }
+            for (int i = 0; i < m; i++) {
+                this.query[i] = Character.toLowerCase(query.charAt(i));
+            }
+            return m <= WORD_BITS ? searchBitParallel(m, maxDistance, consumer) : searchDp(m, maxDistance, consumer);
+        }
+
+        private int searchBitParallel(int m, int k, IntConsumer consumer) {
+            masks.set(query, m);
+            long highBit = 1L << (m - 1);
+            pv[0] = m == WORD_BITS ? -1L : (1L << m) - 1; // Column 0: D[i][0] = i, every vertical step +1
+            mv[0] = 0;
+            score[0] = m;
+
+            int found = 0;
+            if (score[0] <= k) {
+                found += emit(0, consumer); // Empty title
+            }
+
+            int depth = 1;
+            cursor[1] = 1;
+            limit[1] = end[0];
+            while (depth > 0) {
+                int node = cursor[depth];
+                if (node >= limit[depth]) {
+                    depth--;
+                    continue;
+                }
+                cursor[depth] = end[node];
+
+                // One Myers step: column depth - 1 -> depth for text character label[node]
+                long eq = masks.get(label[node]);
+                long prevPv = pv[depth - 1];
+                long prevMv = mv[depth - 1];
+                long xv = eq | prevMv;
+                long xh = (((eq & prevPv) + prevPv) ^ prevPv) | eq;
+                long ph = prevMv | ~(xh | prevPv);
+                long mh = prevPv & xh;
+                int s = score[depth - 1];
+                if ((ph & highBit) != 0) {
+                    s++;
+                } else if ((mh & highBit) != 0) {
+                    s--;
+                }
+                ph = (ph << 1) | 1; // Row 0 grows by one per column
+                mh <<= 1;
+                pv[depth] = mh | ~(xv | ph);
+                mv[depth] = ph & xv;
+                score[depth] = s;
+
+                if (s <= k && firstItem[node] >= 0) {
+                    found += emit(node, consumer);
+                }
+                if (end[node] > node + 1 && bandReachable(depth, m, k)) {
+                    depth++;
+                    cursor[depth] = node + 1;
+                    limit[depth] = end[node];
+                }
+            }
+            return found;
+        }
+
+        // Is any D[i][j] <= k? Only rows within k of the diagonal can be
+        private boolean bandReachable(int j, int m, int k) {
+            int lo = Math.max(0, j - k);
+            int hi = Math.min(m, j + k);
+            if (lo > hi) return false;
+            long below = lo == WORD_BITS ? -1L : (1L << lo) - 1;
+            int d = j + Long.bitCount(pv[j] & below) - Long.bitCount(mv[j] & below);
+            if (d <= k) return true;
+            for (int i = lo + 1; i <= hi; i++) {
+                d += (int) ((pv[j] >>> (i - 1)) & 1) - (int) ((mv[j] >>> (i - 1)) & 1);
+                if (d <= k) return true;
+            }
+            return false;
+        }
+
+        // Same walk with plain DP rows, for queries that do not fit one 64-bit word
+        private int searchDp(int m, int k, IntConsumer consumer) {
+            int width = m + 1;
+            if (rows.length < (maxDepth + 1) * width) {
+                rows = new int[(maxDepth + 1) * width];
+            }
+            for (int i = 0; i <= m; i++) {
+                rows[i] = i;
+            }
+
+            int found = 0;
+            if (m <= k) {
+                found += emit(0, consumer);
+            }
+
+            int depth = 1;
+            cursor[1] = 1;
+            limit[1] = end[0];
+            while (depth > 0) {
+                int node = cursor[depth];
+                if (node >= limit[depth]) {
+                    depth--;
+                    continue;
+                }
+                cursor[depth] = end[node];
+
+                char c = label[node];
+                int prev = (depth - 1) * width;
+                int row = depth * width;
+                rows[row] = depth;
+                int rowMin = depth;
+                for (int i = 1; i <= m; i++) {
+                    int d = Math.min(rows[prev + i - 1] + (query[i - 1] == c ? 0 : 1),
+                            Math.min(rows[prev + i], rows[row + i - 1]) + 1);
+                    rows[row + i] = d;
+                    rowMin = Math.min(rowMin, d);
+                }
+
+                if (rows[row + m] <= k && firstItem[node] >= 0) {
+                    found += emit(node, consumer);
+                }
+                if (end[node] > node + 1 && rowMin <= k) {
+                    depth++;
+                    cursor[depth] = node + 1;
+                    limit[depth] = end[node];
+                }
+            }
+            return found;
+        }
+
+        private int emit(int node, IntConsumer consumer) {
+            int found = 0;
+            for (int item = firstItem[node]; item >= 0; item = nextItem[item]) {
+                consumer.accept(item);
+                found++;
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Edit distance between a and b (case-sensitive), or max + 1 as soon as it is
+     * known to exceed max. Bit-parallel when the shorter string has at most 64 chars.
+     * For one-off comparisons; use a Searcher to match against many titles.
+     */
+    public static int distance(CharSequence a, CharSequence b, int max) {
+        if (a.length() > b.length()) {
+            CharSequence swap = a;
+            a = b;
+            b = swap;
+        }
+        int m = a.length();
+        int n = b.length();
+        if (n - m > max) return max + 1; // Needs at least n - m insertions
+        if (m == 0) return n;
+
+        if (m > WORD_BITS) {
+            return boundedDp(a, b, max);
+        }
+
+        PatternMasks masks = new PatternMasks();
+        char[] pattern = new char[m];
+        for (int i = 0; i < m; i++) {
+            pattern[i] = a.charAt(i);
+        }
+        masks.set(pattern, m);
+
+        long highBit = 1L << (m - 1);
+        long pv = m == WORD_BITS ? -1L : (1L << m) - 1;
+        long mv = 0;
+        int score = m;
+        for (int j = 0; j < n; j++) {
+            long eq = masks.get(b.charAt(j));
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & highBit) != 0) {
+                score++;
+            } else if ((mh & highBit) != 0) {
+                score--;
+            }
+            ph = (ph << 1) | 1;
+            mh <<= 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+            // Each remaining text char can lower the last row by at most one
+            if (score - (n - 1 - j) > max) return max + 1;
+        }
+        return score <= max ? score : max + 1;
+    }
+
+    private static int boundedDp(CharSequence a, CharSequence b, int max) {
+        int m = a.length();
+        int n = b.length();
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            prev[i] = i;
+        }
+        for (int j = 1; j <= n; j++) {
+            char c = b.charAt(j - 1);
+            cur[0] = j;
+            int rowMin = j;
+            for (int i = 1; i <= m; i++) {
+                cur[i] = Math.min(prev[i - 1] + (a.charAt(i - 1) == c ? 0 : 1), Math.min(prev[i], cur[i - 1]) + 1);
+                rowMin = Math.min(rowMin, cur[i]);
+            }
+            if (rowMin > max) return max + 1;
+            int[] swap = prev;
+            prev = cur;
+            cur = swap;
+        }
+        return prev[m] <= max ? prev[m] : max + 1;
+    }
+
+    private static String normalize(String title) {
+        char[] chars = title.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Per-character match masks of the pattern (bit i set where pattern[i] == c):
+     * a direct table for ASCII, a small open-addressing table for everything else
+     */
+    private static final class PatternMasks {
+        private static final int TABLE_SIZE = 128; // Power of two, >= 2 * 64 distinct chars
+
+        private final long[] ascii = new long[128];
+        private final int[] keys = new int[TABLE_SIZE];
+        private final long[] values = new long[TABLE_SIZE];
+
+        void set(char[] pattern, int m) {
+            Arrays.fill(ascii, 0);
+            Arrays.fill(keys, -1);
+            Arrays.fill(values, 0);
+            for (int i = 0; i < m; i++) {
+                char c = pattern[i];
+                if (c < 128) {
+                    ascii[c] |= 1L << i;
+                } else {
+                    int slot = c & (TABLE_SIZE - 1);
+                    while (keys[slot] != -1 && keys[slot] != c) {
+                        slot = (slot + 1) & (TABLE_SIZE - 1);
+                    }
+                    keys[slot] = c;
+                    values[slot] |= 1L << i;
+                }
+            }
+        }
+
+        long get(char c) {
+            if (c < 128) return ascii[c];
+            int slot = c & (TABLE_SIZE - 1);
+            while (keys[slot] != -1) {
+                if (keys[slot] == c) return values[slot];
+                slot = (slot + 1) & (TABLE_SIZE - 1);
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Appends sorted, distinct terms as preorder trie nodes
+     */
+    private static final class Builder {
+        char[] label;
+        int[] end;
+        int[] firstItem;
+        int count;
+        int maxDepth;
+        private int[] path = new int[16]; // path[d] = node at depth d of the previous term
+        private int depth;
+
+        Builder(int capacity) {
+            label = new char[capacity];
+            end = new int[capacity];
+            firstItem = new int[capacity];
+            newNode('\0'); // Root
+        }
+
+        void add(String term, String previous, int item) {
+            int common = 0;
+            if (previous != null) {
+                int limit = Math.min(term.length(), previous.length());
+                while (common < limit && term.charAt(common) == previous.charAt(common)) {
+                    common++;
+                }
+            }
+            // Close the previous term's nodes below the shared prefix
+            while (depth > common) {
+                end[path[depth--]] = count;
+            }
+            for (int i = common; i < term.length(); i++) {
+                int node = newNode(term.charAt(i));
+                if (++depth == path.length) {
+                    path = Arrays.copyOf(path, path.length * 2);
+                }
+                path[depth] = node;
+            }
+            firstItem[path[depth]] = item;
+            maxDepth = Math.max(maxDepth, term.length());
+        }
+
+        void finish() {
+            while (depth > 0) {
+                end[path[depth--]] = count;
+            }
+            end[0] = count;
+            label = Arrays.copyOf(label, count);
+            end = Arrays.copyOf(end, count);
+            firstItem = Arrays.copyOf(firstItem, count);
+        }
+
+        private int newNode(char c) {
+            if (count == label.length) {
+                int capacity = count * 2;
+                label = Arrays.copyOf(label, capacity);
+                end = Arrays.copyOf(end, capacity);
+                firstItem = Arrays.copyOf(firstItem, capacity);
+            }
+            label[count] = c;
+            firstItem[count] = -1;
+            return count++;
+        }
+    }
+}
@@ -6,12 +6,13 @@ import android.graphics.BitmapFactory;
 import android.os.Environment;
 import android.util.Log;
 
+import com.example.mobilegiuaky.api.ApiClient;
+
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+
+import okhttp3.Request;
+import okhttp3.Response;
 
 /**
  * ⚠️ BUG INTENTIONAL - MAIN THREAD BLOCKING ⚠️
@@ -29,21 +30,14 @@ public class ImageDownloader {
      */
     public static Bitmap downloadOnMainThread(String imageUrl) {
         Bitmap bitmap = null;
-        HttpURLConnection connection = null;
-        InputStream inputStream = null;
-        
-        try {
-            URL url = new URL(imageUrl);
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setDoInput(true);
-            connection.setConnectTimeout(30000);
-            connection.setReadTimeout(30000);
-            connection.connect();
-            
-            inputStream = connection.getInputStream();
+        try (Response response = ApiClient.getHttpClient().newCall(
+                new Request.Builder().url(imageUrl).build()).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new Exception("HTTP Error: " + response.code());
+            }
             
             // ⚠️ BAD: Decoding bitmap on main thread
-            bitmap = BitmapFactory.decodeStream(inputStream);
+            bitmap = BitmapFactory.decodeStream(response.body().byteStream());
             
             // ⚠️ EXTRA BAD: Add artificial delay to make it worse
             Thread.sleep(2000);
@@ -52,13 +46,6 @@ public class ImageDownloader {
             
         } catch (Exception e) {
             Log.e(TAG, "Error downloading image: " + e.getMessage());
-        } finally {
-            try {
-                if (inputStream != null) inputStream.close();
-                if (connection != null) connection.disconnect();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
         }
         
         return bitmap;
@@ -102,29 +89,25 @@ public class ImageDownloader {
      * ✅ GOOD: Download image on background thread (FIXED VERSION)
      */
     public static void downloadOnBackgroundThread(String imageUrl, OnDownloadCompleteListener listener) {
+        downloadOnBackgroundThread(imageUrl, BitmapDecoder.screenWidth(), BitmapDecoder.screenHeight(), listener);
+    }
+    
+    /**
+     * ✅ GOOD: Same, decoded for the target view size instead of the full image size
+     */
+    public static void downloadOnBackgroundThread(String imageUrl, int reqWidth, int reqHeight,
+                                                  OnDownloadCompleteListener listener) {
         new Thread(new Runnable() {
             @Override
             public void run() {
-                Bitmap bitmap = null;
-                HttpURLConnection connection = null;
-                InputStream inputStream = null;
-                
                 try {
-                    URL url = new URL(imageUrl);
-                    connection = (HttpURLConnection) url.openConnection();
-                    connection.setDoInput(true);
-                    connection.setConnectTimeout(30000);
-                    connection.setReadTimeout(30000);
-                    connection.connect();
-                    
-                    inputStream = connection.getInputStream();
-                    bitmap = BitmapFactory.decodeStream(inputStream);
+                    // ✅ GOOD: Memory/disk cache first, network only on a miss
+                    Bitmap bitmap = BitmapCache.load(imageUrl, reqWidth, reqHeight, false);
                     
-                    Log.d(TAG, "Image downloaded successfully on BACKGROUND THREAD (GOOD!)");
+                    Log.d(TAG, "Image loaded on BACKGROUND THREAD (GOOD!) - " + BitmapCache.getStats());
                     
                     if (listener != null) {
-                        final Bitmap finalBitmap = bitmap;
-                        listener.onSuccess(finalBitmap);
+                        listener.onSuccess(bitmap);
                     }
                     
                 } catch (Exception e) {
@@ -132,13 +115,6 @@ public class ImageDownloader {
                     if (listener != null) {
                         listener.onError(e.getMessage());
                     }
-                } finally {
-                    try {
-                        if (inputStream != null) inputStream.close();
-                        if (connection != null) connection.disconnect();
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
                 }
             }
         }).start();
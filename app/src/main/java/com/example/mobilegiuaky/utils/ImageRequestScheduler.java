@@ -0,0 +1,146 @@
+package com.example.mobilegiuaky.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ GOOD: Image request queue ordered by what the user can see
+ *
+ * A plain newFixedThreadPool(4) runs requests first-in first-out: after a fast
+ * fling the workers are busy with rows that scrolled away long ago. Here:
+ * 1. VISIBLE requests run before PREFETCH, PREFETCH before BACKGROUND,
+ * 2. within a priority the newest request runs first (LIFO) - during a scroll
+ *    the last bound rows are the ones still on screen,
+ * 3. every request returns a Handle; cancel() drops it from the queue before it
+ *    costs any bandwidth or decode time, and suppresses the result if it is running.
+ */
+public final class ImageRequestScheduler {
+
+    public static final int PRIORITY_VISIBLE = 0;
+    public static final int PRIORITY_PREFETCH = 1;
+    public static final int PRIORITY_BACKGROUND = 2;
+
+    private static final int WORKER_COUNT = 4;
+
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final AtomicInteger cancelledBeforeStart = new AtomicInteger();
+    private static final AtomicInteger completed = new AtomicInteger();
+
+    // execute() only - submit() would wrap tasks in FutureTask, which the queue cannot order
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            WORKER_COUNT, WORKER_COUNT, 30, TimeUnit.SECONDS, new PriorityBlockingQueue<>());
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    static {
+        executor.allowCoreThreadTimeOut(true); // No idle threads while nothing is loading
+    }
+
+    private ImageRequestScheduler() {}
+
+    /**
+     * Work done on a worker thread; the result is delivered on the main thread
+     */
+    public interface Job<T> {
+        /**
+         * @param progress forwards to ResultCallback.onProgress on the main thread
+         */
+        T run(ResumableDownloader.ProgressListener progress) throws Exception;
+    }
+
+    public interface ResultCallback<T> {
+        void onSuccess(T result);
+        void onError(String error);
+
+        default void onProgress(long bytesDone, long totalBytes) {}
+    }
+
+    /**
+     * Cancel from the main thread: after cancel() no callback is delivered
+     */
+    public interface Handle {
+        void cancel();
+        boolean isCancelled();
+    }
+
+    public static <T> Handle schedule(int priority, Job<T> job, ResultCallback<T> callback) {
+        Request<T> request = new Request<>(priority, sequence.incrementAndGet(), job, callback);
+        executor.execute(request);
+        return request;
+    }
+
+    public static String getStats() {
+        return String.format("%d queued, %d active, %d completed, %d cancelled before start",
+                executor.getQueue().size(), executor.getActiveCount(), completed.get(), cancelledBeforeStart.get());
+    }
+
+    private static final class Request<T>
+            implements Runnable, Comparable<Request<?>>, Handle, ResumableDownloader.ProgressListener {
+        private final int priority;
+        private final long sequence;
+        private final Job<T> job;
+        private final ResultCallback<T> callback;
+        private volatile boolean cancelled;
+
+        Request(int priority, long sequence, Job<T> job, ResultCallback<T> callback) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.job = job;
+            this.callback = callback;
+        }
+
+        @Override
+        public int compareTo(Request<?> other) {
+            if (priority != other.priority) {
+                return Integer.compare(priority, other.priority);
+            }
+            return Long.compare(other.sequence, sequence); // Newest first
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                cancelledBeforeStart.incrementAndGet(); // Lost the race with remove()
+                return;
+            }
+            try {
+                T result = job.run(this);
+                completed.incrementAndGet();
+                deliver(() -> callback.onSuccess(result));
+            } catch (Exception e) {
+                deliver(() -> callback.onError(e.getMessage()));
+            }
+        }
+
+        @Override
+        public void onProgress(long bytesDone, long totalBytes) {
+            deliver(() -> callback.onProgress(bytesDone, totalBytes));
+        }
+
+        private void deliver(Runnable action) {
+            // Checked on the main thread, where cancel() is called, so nothing slips through
+            mainHandler.post(() -> {
+                if (!cancelled) action.run();
+            });
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            if (executor.remove(this)) {
+                cancelledBeforeStart.incrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
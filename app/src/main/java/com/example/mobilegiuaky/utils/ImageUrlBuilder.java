@@ -0,0 +1,106 @@
+package com.example.mobilegiuaky.utils;
+
+import com.example.mobilegiuaky.api.ApiClient;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ✅ GOOD: Ask the server for an image close to the size it is shown at
+ *
+ * image_url points at 800x600 originals, even for a 100dp list thumbnail.
+ * BitmapDecoder shrinks them after download, but the bytes still cross the
+ * network. This picks the smallest variant that still covers the view:
+ * - picsum.photos / loremflickr.com / source.unsplash.com take the size in the path,
+ * - our backend's /images/<file> has /thumbs/<width>/<file>.
+ * Anything else is returned unchanged.
+ *
+ * Widths are snapped to THUMB_WIDTHS (same list as the backend) so that
+ * nearby view sizes share one variant in every cache along the way.
+ */
+public final class ImageUrlBuilder {
+
+    // Must match THUMB_WIDTHS in backend/server.js
+    static final int[] THUMB_WIDTHS = {120, 240, 360, 480, 720, 1080};
+
+    // Aspect ratio assumed for /images files (the catalog is 800x600); their real size is unknown here
+    private static final float LOCAL_ASPECT = 4f / 3f;
+
+    // <base>/<width>/<height><rest>, e.g. https://picsum.photos/800/600?random=1
+    private static final Pattern PATH_SIZE = Pattern.compile(
+            "^(https?://(?:picsum\\.photos|loremflickr\\.com)(?:/id/\\d+|/seed/[^/?#]+)?)/(\\d+)/(\\d+)(.*)$");
+    // <base>/<width>x<height><rest>, e.g. https://source.unsplash.com/800x600/?nature
+    private static final Pattern PATH_SIZE_X = Pattern.compile(
+            "^(https?://source\\.unsplash\\.com)/(\\d+)x(\\d+)(.*)$");
+
+    private ImageUrlBuilder() {}
+
+    /**
+     * @param reqWidth  view width in px
+     * @param reqHeight view height in px (the image must cover both, as with centerCrop)
+     * @return a URL for a smaller variant, or url itself when none is smaller
+     */
+    public static String forSize(String url, int reqWidth, int reqHeight) {
+        return forSize(url, reqWidth, reqHeight, ApiClient.getBaseUrl());
+    }
+
+    static String forSize(String url, int reqWidth, int reqHeight, String baseUrl) {
+        if (url == null || reqWidth <= 0 || reqHeight <= 0) {
+            return url;
+        }
+
+        Matcher m = PATH_SIZE.matcher(url);
+        if (m.matches()) {
+            return resizePath(m, reqWidth, reqHeight, "/", url);
+        }
+        m = PATH_SIZE_X.matcher(url);
+        if (m.matches()) {
+            return resizePath(m, reqWidth, reqHeight, "x", url);
+        }
+
+        String imagesPrefix = baseUrl + "images/";
+        if (url.startsWith(imagesPrefix)) {
+            String file = url.substring(imagesPrefix.length());
+            if (file.isEmpty() || file.indexOf('/') >= 0 || file.indexOf('?') >= 0 || file.indexOf('#') >= 0) {
+                return url;
+            }
+            int width = snapWidth(Math.max(reqWidth, (int) Math.ceil(reqHeight * LOCAL_ASPECT)));
+            return width > 0 ? baseUrl + "thumbs/" + width + "/" + file : url;
+        }
+        return url;
+    }
+
+    // Groups: 1 = base, 2 = width, 3 = height, 4 = rest
+    private static String resizePath(Matcher m, int reqWidth, int reqHeight, String separator, String url) {
+        int originalWidth;
+        int originalHeight;
+        try {
+            originalWidth = Integer.parseInt(m.group(2));
+            originalHeight = Integer.parseInt(m.group(3));
+        } catch (NumberFormatException e) {
+            return url;
+        }
+        if (originalWidth <= 0 || originalHeight <= 0) {
+            return url;
+        }
+
+        // Width that makes the height cover reqHeight too, at the original aspect ratio
+        int needed = Math.max(reqWidth, (int) Math.ceil((double) reqHeight * originalWidth / originalHeight));
+        int width = snapWidth(needed);
+        if (width <= 0 || width >= originalWidth) {
+            return url;
+        }
+        int height = Math.max(1, Math.round((float) width * originalHeight / originalWidth));
+        return m.group(1) + "/" + width + separator + height + m.group(4);
+    }
+
+    // Smallest listed width >= needed, or 0 when even the largest is too small
+    static int snapWidth(int needed) {
+        for (int width : THUMB_WIDTHS) {
+            if (width >= needed) {
+                return width;
+            }
+        }
+        return 0;
+    }
+}
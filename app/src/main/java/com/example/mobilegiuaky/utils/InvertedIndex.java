@@ -0,0 +1,288 @@
+package com.example.mobilegiuaky.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ✅ GOOD: Token -> documents index for type-ahead search
+ *
+ * Text is split into lowercase letter/digit tokens. Each token keeps a sorted
+ * int[] of the documents containing it (no boxing), and tokens are kept sorted so
+ * every token starting with a prefix is one contiguous range.
+ *
+ * search("sun bea") returns the documents that have a token starting with "sun"
+ * AND a token starting with "bea": the work grows with the matching postings,
+ * not with the number of documents.
+ *
+ * put()/remove() update one document in place (O(tokens of that document)), so
+ * the index follows adds and deletes without being rebuilt.
+ * All methods are synchronized: updates can run on a background thread while the
+ * main thread searches.
+ */
+public final class InvertedIndex {
+
+    private static final String[] NO_TOKENS = new String[0];
+    private static final int[] NO_DOCS = new int[0];
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final TreeMap<String, Postings> sortedPostings = new TreeMap<>(); // Same lists, for prefix ranges
+    private final Map<Integer, String[]> tokensByDoc = new HashMap<>(); // To undo put()
+
+    /**
+     * Indexes (or re-indexes) a document under the tokens of all its fields
+     *
+     * @param fields null fields are skipped
+     */
+    public synchronized void put(int docId, CharSequence... fields) {
+        remove(docId);
+
+        List<String> tokens = new ArrayList<>();
+        for (CharSequence field : fields) {
+            if (field != null) {
+                tokenize(field, tokens);
+            }
+        }
+        if (tokens.isEmpty()) return;
+
+        String[] distinct = distinct(tokens);
+        for (String token : distinct) {
+            Postings list = postings.get(token);
+            if (list == null) {
+                list = new Postings();
+                postings.put(token, list);
+                sortedPostings.put(token, list);
+            }
+            list.add(docId);
+        }
+        tokensByDoc.put(docId, distinct);
+    }
+
+    /**
+     * @return false if the document was not indexed
+     */
+    public synchronized boolean remove(int docId) {
+        String[] tokens = tokensByDoc.remove(docId);
+        if (tokens == null) return false;
+
+        for (String token : tokens) {
+            Postings list = postings.get(token);
+            if (list != null && list.remove(docId) && list.size == 0) {
+                postings.remove(token);
+                sortedPostings.remove(token);
+            }
+        }
+        return true;
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        sortedPostings.clear();
+        tokensByDoc.clear();
+    }
+
+    public synchronized boolean contains(int docId) {
+        return tokensByDoc.containsKey(docId);
+    }
+
+    public synchronized int size() {
+        return tokensByDoc.size();
+    }
+
+    public synchronized int getTokenCount() {
+        return postings.size();
+    }
+
+    /**
+     * Documents matching every query token as a prefix, in ascending id order.
+     * A query without tokens (empty, only punctuation) matches nothing.
+     */
+    public synchronized int[] search(CharSequence query) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(query, tokens);
+        if (tokens.isEmpty()) return NO_DOCS;
+
+        String[] distinct = distinct(tokens);
+        int[][] lists = new int[distinct.length][];
+        int[] sizes = new int[distinct.length];
+        for (int t = 0; t < distinct.length; t++) {
+            if (!collectPrefix(distinct[t], lists, sizes, t)) {
+                return NO_DOCS; // One token matches nothing: so does the query
+            }
+        }
+
+        // Intersect starting from the shortest list
+        int shortest = 0;
+        for (int t = 1; t < lists.length; t++) {
+            if (sizes[t] < sizes[shortest]) shortest = t;
+        }
+        int[] result = Arrays.copyOf(lists[shortest], sizes[shortest]);
+        int count = result.length;
+        for (int t = 0; t < lists.length && count > 0; t++) {
+            if (t != shortest) {
+                count = intersect(result, count, lists[t], sizes[t]);
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * The distinct tokens of a query, for matches()
+     */
+    public static String[] queryTokens(CharSequence query) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(query, tokens);
+        return distinct(tokens);
+    }
+
+    /**
+     * The search() rule for one document without an index (every query token starts
+     * a token of the fields) - for a linear scan that must agree with search()
+     *
+     * @param queryTokens from queryTokens(); none matches nothing
+     * @param fields null fields are skipped
+     */
+    public static boolean matches(String[] queryTokens, CharSequence... fields) {
+        if (queryTokens.length == 0) return false;
+
+        List<String> tokens = new ArrayList<>();
+        for (CharSequence field : fields) {
+            if (field != null) {
+                tokenize(field, tokens);
+            }
+        }
+        for (String prefix : queryTokens) {
+            boolean found = false;
+            for (String token : tokens) {
+                if (token.startsWith(prefix)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    // Sorted, distinct documents of every token starting with prefix, into lists[slot]
+    private boolean collectPrefix(String prefix, int[][] lists, int[] sizes, int slot) {
+        Postings only = null;
+        int ranges = 0;
+        int total = 0;
+        for (Map.Entry<String, Postings> entry : sortedPostings.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) break;
+            only = entry.getValue();
+            ranges++;
+            total += only.size;
+        }
+        if (ranges == 0) return false;
+
+        if (ranges == 1) {
+            lists[slot] = only.docs; // Already sorted and distinct
+            sizes[slot] = only.size;
+            return true;
+        }
+
+        int[] union = new int[total];
+        int n = 0;
+        for (Map.Entry<String, Postings> entry : sortedPostings.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) break;
+            Postings list = entry.getValue();
+            System.arraycopy(list.docs, 0, union, n, list.size);
+            n += list.size;
+        }
+        OptimizedProcessor.radixSortInPlace(union);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || union[i] != union[distinct - 1]) {
+                union[distinct++] = union[i];
+            }
+        }
+        lists[slot] = union;
+        sizes[slot] = distinct;
+        return true;
+    }
+
+    // Keeps result[0..count) values also in other[0..otherSize); binary search as result is the short side
+    private static int intersect(int[] result, int count, int[] other, int otherSize) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < otherSize; i++) {
+            int at = Arrays.binarySearch(other, from, otherSize, result[i]);
+            if (at >= 0) {
+                result[kept++] = result[i];
+                from = at + 1;
+            } else {
+                from = -at - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Lowercase runs of letters/digits, e.g. "Hoàng hôn - Biển" -> [hoàng, hôn, biển]
+     */
+    static void tokenize(CharSequence text, List<String> out) {
+        StringBuilder token = new StringBuilder();
+        for (int i = 0, length = text.length(); i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (token.length() > 0) {
+                out.add(token.toString());
+                token.setLength(0);
+            }
+        }
+    }
+
+    private static String[] distinct(List<String> tokens) {
+        if (tokens.isEmpty()) return NO_TOKENS;
+        String[] sorted = tokens.toArray(new String[0]);
+        Arrays.sort(sorted);
+        int n = 0;
+        for (String token : sorted) {
+            if (n == 0 || !token.equals(sorted[n - 1])) {
+                sorted[n++] = token;
+            }
+        }
+        return Arrays.copyOf(sorted, n);
+    }
+
+    /**
+     * Sorted, distinct document ids; ids usually arrive in increasing order, so add() is an append
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int size;
+
+        void add(int docId) {
+            if (size > 0 && docs[size - 1] >= docId) {
+                int at = Arrays.binarySearch(docs, 0, size, docId);
+                if (at >= 0) return;
+                insert(-at - 1, docId);
+                return;
+            }
+            insert(size, docId);
+        }
+
+        boolean remove(int docId) {
+            int at = Arrays.binarySearch(docs, 0, size, docId);
+            if (at < 0) return false;
+            System.arraycopy(docs, at + 1, docs, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        private void insert(int at, int docId) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            System.arraycopy(docs, at, docs, at + 1, size - at);
+            docs[at] = docId;
+            size++;
+        }
+    }
+}
@@ -10,12 +10,12 @@ import android.util.Log;
 import android.net.Uri;
 import android.content.ContentResolver;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -30,56 +30,85 @@ import java.util.concurrent.Executors;
 public class OptimizedImageDownloader {
         private static final String TAG = "OptimizedDownloader";
     
-    // Thread pool for background operations
+    // Thread pool for saving (image loads go through ImageRequestScheduler)
     private static final ExecutorService executor = Executors.newFixedThreadPool(4);
     private static final Handler mainHandler = new Handler(Looper.getMainLooper());
     
+    // One copy buffer per worker thread, reused for every save
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<byte[]> copyBuffer = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[COPY_BUFFER_SIZE];
+        }
+    };
+    
     /**
-     * ✅ GOOD: Download image on background thread
+     * ✅ GOOD: Download image on background thread (screen-sized decode)
      */
     public static void downloadImage(String imageUrl, DownloadCallback callback) {
-        executor.execute(() -> {
-            Bitmap bitmap = null;
-            HttpURLConnection connection = null;
-            InputStream inputStream = null;
-            
-            try {
-                URL url = new URL(imageUrl);
-                connection = (HttpURLConnection) url.openConnection();
-                connection.setDoInput(true);
-                connection.setConnectTimeout(15000);
-                connection.setReadTimeout(15000);
-                connection.connect();
-                
-                int responseCode = connection.getResponseCode();
-                if (responseCode == HttpURLConnection.HTTP_OK) {
-                    inputStream = connection.getInputStream();
-                    bitmap = android.graphics.BitmapFactory.decodeStream(inputStream);
+        downloadImage(imageUrl, BitmapDecoder.screenWidth(), BitmapDecoder.screenHeight(), false, callback);
+    }
+    
+    /**
+     * ✅ GOOD: Download image on background thread, decoded for the target view size
+     * ✅ GOOD: Served from BitmapCache (memory, then disk) when seen before
+     * 
+     * @param reqWidth    target width in px (0 = original size)
+     * @param reqHeight   target height in px (0 = original size)
+     * @param allowRgb565 RGB_565 for opaque images (half the memory)
+     */
+    public static void downloadImage(String imageUrl, int reqWidth, int reqHeight, boolean allowRgb565,
+                                     DownloadCallback callback) {
+        downloadImage(imageUrl, reqWidth, reqHeight, allowRgb565, ImageRequestScheduler.PRIORITY_VISIBLE, callback);
+    }
+    
+    /**
+     * ✅ GOOD: Same, queued by priority (see ImageRequestScheduler)
+     * ✅ GOOD: Cancel the handle once the view no longer needs the image
+     * 
+     * @param priority ImageRequestScheduler.PRIORITY_VISIBLE / PREFETCH / BACKGROUND
+     * @return handle to cancel the request, or null on a memory hit (callback already posted)
+     */
+    public static ImageRequestScheduler.Handle downloadImage(String imageUrl, int reqWidth, int reqHeight,
+                                                             boolean allowRgb565, int priority,
+                                                             DownloadCallback callback) {
+        // Memory hit: no network, no decode, no worker thread
+        Bitmap cached = BitmapCache.peek(imageUrl, reqWidth, reqHeight, allowRgb565);
+        if (cached != null) {
+            mainHandler.post(() -> callback.onSuccess(cached));
+            return null;
+        }
+        
+        return ImageRequestScheduler.schedule(priority,
+                progress -> {
+                    Bitmap bitmap = BitmapCache.load(imageUrl, reqWidth, reqHeight, allowRgb565, progress);
+                    Log.d(TAG, "✅ Image loaded on background thread: " + bitmap.getWidth() + "x"
+                            + bitmap.getHeight() + " " + bitmap.getConfig() + " (" + BitmapCache.getStats() + ")");
+                    return bitmap;
+                },
+                new ImageRequestScheduler.ResultCallback<Bitmap>() {
+                    @Override
+                    public void onSuccess(Bitmap bitmap) {
+                        callback.onSuccess(bitmap);
+                    }
                     
-                    Log.d(TAG, "✅ Image downloaded successfully on background thread");
+                    @Override
+                    public void onError(String error) {
+                        Log.e(TAG, "Download error: " + error);
+                        callback.onError(error);
+                    }
                     
-                    final Bitmap finalBitmap = bitmap;
-                    mainHandler.post(() -> callback.onSuccess(finalBitmap));
-                } else {
-                    throw new Exception("HTTP Error: " + responseCode);
-                }
-                
-            } catch (Exception e) {
-                Log.e(TAG, "Download error: " + e.getMessage());
-                mainHandler.post(() -> callback.onError(e.getMessage()));
-            } finally {
-                try {
-                    if (inputStream != null) inputStream.close();
-                    if (connection != null) connection.disconnect();
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
-        });
+                    @Override
+                    public void onProgress(long bytesDone, long totalBytes) {
+                        callback.onProgress(bytesDone, totalBytes);
+                    }
+                });
     }
     
     /**
      * ✅ GOOD: Save image on background thread
+     * (re-encodes the bitmap - for an image as downloaded, saveOriginal() is cheaper)
      */
     public static void saveImage(Context context, Bitmap bitmap, String fileName, SaveCallback callback) {
         executor.execute(() -> {
@@ -140,34 +169,155 @@ public class OptimizedImageDownloader {
         });
     }
     
+    /**
+     * ✅ GOOD: Save the original encoded bytes to Downloads
+     * ✅ GOOD: No decode and no re-encode - an I/O copy, and no quality loss
+     * 
+     * The stream is copied through a reused buffer and closed when done.
+     */
+    public static void saveOriginal(Context context, InputStream imageStream, String fileName,
+                                    SaveCallback callback) {
+        executor.execute(() -> {
+            try (InputStream in = imageStream) {
+                String filePath = copyToDownloads(context, in, fileName);
+                mainHandler.post(() -> callback.onSuccess(filePath));
+            } catch (Exception e) {
+                Log.e(TAG, "Save error: " + e.getMessage());
+                mainHandler.post(() -> callback.onError(e.getMessage()));
+            }
+        });
+    }
+    
     /**
      * ✅ GOOD: Download and save in one operation
+     * ✅ GOOD: Joins a download of the same URL already in progress (e.g. for display),
+     * and streams from the disk cache when the image is already there
      */
-    public static void downloadAndSave(Context context, String imageUrl, String fileName, 
+    public static void downloadAndSave(Context context, String imageUrl, String fileName,
                                         DownloadAndSaveCallback callback) {
-        downloadImage(imageUrl, new DownloadCallback() {
+        executor.execute(() -> {
+            InputStream in;
+            try {
+                in = BitmapCache.openStream(imageUrl);
+            } catch (Exception e) {
+                Log.e(TAG, "Download error: " + e.getMessage());
+                mainHandler.post(() -> callback.onError("Download failed: " + e.getMessage()));
+                return;
+            }
+            try (InputStream source = in) {
+                String filePath = copyToDownloads(context, source, fileName);
+                mainHandler.post(() -> callback.onComplete(filePath));
+            } catch (Exception e) {
+                Log.e(TAG, "Save error: " + e.getMessage());
+                mainHandler.post(() -> callback.onError("Save failed: " + e.getMessage()));
+            }
+        });
+    }
+    
+    /**
+     * ✅ GOOD: Save an image the caller already fetched - no second network transfer
+     */
+    public static void downloadAndSave(Context context, byte[] imageData, String fileName,
+                                        DownloadAndSaveCallback callback) {
+        saveOriginal(context, new ByteArrayInputStream(imageData), fileName, new SaveCallback() {
             @Override
-            public void onSuccess(Bitmap bitmap) {
-                saveImage(context, bitmap, fileName, new SaveCallback() {
-                    @Override
-                    public void onSuccess(String filePath) {
-                        callback.onComplete(bitmap, filePath);
-                    }
-                    
-                    @Override
-                    public void onError(String error) {
-                        callback.onError("Save failed: " + error);
-                    }
-                });
+            public void onSuccess(String filePath) {
+                callback.onComplete(filePath);
             }
-            
+    
             @Override
             public void onError(String error) {
-                callback.onError("Download failed: " + error);
+                callback.onError("Save failed: " + error);
             }
         });
     }
     
+    // Worker thread only (uses this thread's copy buffer)
+    private static String copyToDownloads(Context context, InputStream in, String fileName) throws Exception {
+        byte[] buffer = copyBuffer.get();
+    
+        // The first chunk tells the real format (the file name is kept as given)
+        int head = readChunk(in, buffer);
+        if (head <= 0) throw new IOException("Empty image");
+        String mimeType = sniffMimeType(buffer, head);
+    
+        String savedPath;
+        if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.Q) {
+            ContentValues values = new ContentValues();
+            values.put(MediaStore.Downloads.DISPLAY_NAME, fileName);
+            values.put(MediaStore.Downloads.MIME_TYPE, mimeType);
+            values.put(MediaStore.Downloads.RELATIVE_PATH, Environment.DIRECTORY_DOWNLOADS);
+            values.put(MediaStore.Downloads.IS_PENDING, 1);
+            ContentResolver resolver = context.getContentResolver();
+            Uri uri = resolver.insert(MediaStore.Downloads.EXTERNAL_CONTENT_URI, values);
+            if (uri == null) throw new Exception("Failed to create new MediaStore record");
+            try (OutputStream out = resolver.openOutputStream(uri)) {
+                if (out == null) throw new Exception("Failed to open output stream");
+                copy(in, out, buffer, head);
+            } catch (Exception e) {
+                resolver.delete(uri, null, null); // No half-written entry left in Downloads
+                throw e;
+            }
+            values.clear();
+            values.put(MediaStore.Downloads.IS_PENDING, 0);
+            resolver.update(uri, values, null, null);
+            savedPath = uri.toString();
+        } else {
+            File directory = Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DOWNLOADS);
+            if (!directory.exists()) {
+                directory.mkdirs();
+            }
+            File file = new File(directory, fileName);
+            try (OutputStream out = new FileOutputStream(file)) {
+                copy(in, out, buffer, head);
+            }
+            savedPath = file.getAbsolutePath();
+            android.media.MediaScannerConnection.scanFile(context,
+                    new String[]{file.toString()}, new String[]{mimeType}, null);
+        }
+        Log.d(TAG, "✅ Original saved (no re-encode) to: " + savedPath);
+        return savedPath;
+    }
+    
+    // Writes the head already in the buffer, then the rest of the stream
+    private static void copy(InputStream in, OutputStream out, byte[] buffer, int head) throws IOException {
+        int count = head;
+        while (count > 0) {
+            out.write(buffer, 0, count);
+            count = readChunk(in, buffer);
+        }
+        out.flush();
+    }
+    
+    // Fills the buffer unless the stream ends first; 0 at end of stream
+    private static int readChunk(InputStream in, byte[] buffer) throws IOException {
+        int filled = 0;
+        while (filled < buffer.length) {
+            int read = in.read(buffer, filled, buffer.length - filled);
+            if (read < 0) break;
+            filled += read;
+        }
+        return filled;
+    }
+    
+    // Magic numbers of the formats image servers return
+    private static String sniffMimeType(byte[] data, int length) {
+        if (length >= 3 && (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8 && (data[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (length >= 4 && (data[0] & 0xFF) == 0x89 && data[1] == 'P' && data[2] == 'N' && data[3] == 'G') {
+            return "image/png";
+        }
+        if (length >= 12 && data[0] == 'R' && data[1] == 'I' && data[2] == 'F' && data[3] == 'F'
+                && data[8] == 'W' && data[9] == 'E' && data[10] == 'B' && data[11] == 'P') {
+            return "image/webp";
+        }
+        if (length >= 4 && data[0] == 'G' && data[1] == 'I' && data[2] == 'F' && data[3] == '8') {
+            return "image/gif";
+        }
+        return "image/jpeg"; // Unknown: same default as saveImage()
+    }
+    
     /**
      * Shutdown executor when app is closing
      */
@@ -179,6 +329,11 @@ public class OptimizedImageDownloader {
     public interface DownloadCallback {
         void onSuccess(Bitmap bitmap);
         void onError(String error);
+        
+        /**
+         * Network downloads only (main thread); totalBytes is -1 when unknown
+         */
+        default void onProgress(long bytesDone, long totalBytes) {}
     }
     
     public interface SaveCallback {
@@ -187,7 +342,7 @@ public class OptimizedImageDownloader {
     }
     
     public interface DownloadAndSaveCallback {
-        void onComplete(Bitmap bitmap, String filePath);
+        void onComplete(String filePath);
         void onError(String error);
     }
 }
@@ -1,11 +1,17 @@
 package com.example.mobilegiuaky.utils;
 
+import android.graphics.Bitmap;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * ✅ OPTIMIZED VERSION - Data Processing
@@ -19,6 +25,41 @@ public class OptimizedProcessor {
             Runtime.getRuntime().availableProcessors()
     );
     
+    // Work-stealing pool for splitting one image across all cores (shared with FilterPipeline)
+    static final ForkJoinPool imagePool = new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors()
+    );
+    
+    // Below this many pixels a stripe is processed in place instead of split further
+    private static final int MIN_STRIPE_PIXELS = 64 * 1024;
+    
+    // Radix sort: 8-bit digits, counting sort when the whole range fits one histogram
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+    private static final int COUNTING_SORT_MAX_RANGE = 1 << 16;
+    private static final int RADIX_MIN_LENGTH = 2048; // Below this Arrays.sort wins
+    private static final int MAX_RETAINED_SCRATCH = 1 << 20; // 4 MB
+    private static final int SELECT_SORT_THRESHOLD = 16;
+    
+    private static final ThreadLocal<int[]> radixScratch = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[0];
+        }
+    };
+    
+    private static final double GAMMA = 0.8;
+    
+    // gray (0..255) -> (int) (pow(gray / 255, 0.8) * 255), the same expression HeavyProcessor runs per pixel
+    private static final int[] GAMMA_LUT = new int[256];
+    
+    static {
+        for (int gray = 0; gray < 256; gray++) {
+            GAMMA_LUT[gray] = (int) (Math.pow(gray / 255.0, GAMMA) * 255);
+        }
+    }
+    
     /**
      * ✅ GOOD: Use built-in efficient sort (TimSort - O(n log n))
      */
@@ -76,10 +117,341 @@ public class OptimizedProcessor {
         return result;
     }
     
+    /**
+     * ✅ GOOD: O(n) sort for integers in a bounded range
+     * (generateLargeDataset values in [0, 10000), file sizes in KB, ...)
+     *
+     * - range below COUNTING_SORT_MAX_RANGE and a few times n: counting sort,
+     *   one histogram + one fill
+     * - otherwise: LSD radix sort on (value - min), 8 bits per pass, only as many
+     *   passes as the range needs (at most 4)
+     *
+     * Works for any int, negatives included. Returns a sorted copy like efficientSort.
+     */
+    public static int[] radixSort(int[] array) {
+        int[] result = array.clone();
+        radixSortInPlace(result);
+        return result;
+    }
+    
+    /**
+     * Same as radixSort without the copy
+     */
+    public static void radixSortInPlace(int[] array) {
+        int n = array.length;
+        if (n < RADIX_MIN_LENGTH) {
+            Arrays.sort(array); // Histogram setup costs more than it saves here
+            return;
+        }
+        
+        int min = array[0];
+        int max = array[0];
+        for (int value : array) {
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+        long range = (long) max - min; // Long: max - min can overflow int
+        if (range == 0) return;
+        
+        if (range < COUNTING_SORT_MAX_RANGE && range < 4L * n) {
+            countingSort(array, min, (int) range + 1);
+            return;
+        }
+        
+        int[] scratch = sortScratch(n);
+        int[] counts = new int[RADIX];
+        int[] src = array;
+        int[] dst = scratch;
+        for (int shift = 0; shift < 32 && (range >>> shift) != 0; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[((src[i] - min) >>> shift) & RADIX_MASK]++;
+            }
+            if (counts[((src[0] - min) >>> shift) & RADIX_MASK] == n) {
+                continue; // Every key has the same digit: this pass would only copy
+            }
+            for (int d = 0, offset = 0; d < RADIX; d++) {
+                int count = counts[d];
+                counts[d] = offset;
+                offset += count;
+            }
+            for (int i = 0; i < n; i++) {
+                int value = src[i];
+                dst[counts[((value - min) >>> shift) & RADIX_MASK]++] = value;
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != array) {
+            System.arraycopy(src, 0, array, 0, n);
+        }
+        releaseSortScratch(scratch);
+    }
+    
+    private static void countingSort(int[] array, int min, int range) {
+        int[] counts = new int[range];
+        for (int value : array) {
+            counts[value - min]++;
+        }
+        int i = 0;
+        for (int v = 0; v < range; v++) {
+            for (int c = counts[v]; c > 0; c--) {
+                array[i++] = v + min;
+            }
+        }
+    }
+    
+    /**
+     * ✅ GOOD: The k largest values, largest first - O(n + k log k) instead of sorting everything
+     *
+     * Quickselect moves the k largest to the end of a copy, then only those k are sorted.
+     */
+    public static int[] topK(int[] array, int k) {
+        int n = array.length;
+        k = Math.max(0, Math.min(k, n));
+        if (k == 0) return new int[0];
+        
+        int[] work = array.clone();
+        select(work, 0, n, n - k);
+        Arrays.sort(work, n - k, n);
+        
+        int[] result = new int[k];
+        for (int i = 0; i < k; i++) {
+            result[i] = work[n - 1 - i];
+        }
+        return result;
+    }
+    
+    /**
+     * ✅ GOOD: The k largest items by comparator, largest first
+     * e.g. topK(photos, 10, Comparator.comparingInt(Photo::getFileSizeKb))
+     */
+    public static <T> List<T> topK(List<T> items, int k, Comparator<? super T> comparator) {
+        int n = items.size();
+        k = Math.max(0, Math.min(k, n));
+        if (k == 0) return new ArrayList<>();
+        
+        @SuppressWarnings("unchecked")
+        T[] work = (T[]) items.toArray();
+        select(work, 0, n, n - k, comparator);
+        Arrays.sort(work, n - k, n, comparator);
+        
+        List<T> result = new ArrayList<>(k);
+        for (int i = n - 1; i >= n - k; i--) {
+            result.add(work[i]);
+        }
+        return result;
+    }
+    
+    /**
+     * ✅ GOOD: In place, array[0..k) becomes the k smallest values in ascending order;
+     * the order of the rest is unspecified. O(n + k log k).
+     */
+    public static void partialSort(int[] array, int k) {
+        k = Math.max(0, Math.min(k, array.length));
+        if (k == 0) return;
+        if (k < array.length) {
+            select(array, 0, array.length, k);
+        }
+        Arrays.sort(array, 0, k);
+    }
+    
+    /**
+     * Quickselect: afterwards a[index] holds the value a full sort would put there,
+     * with nothing greater before it and nothing smaller after it.
+     * Three-way partition so duplicate-heavy data (values in [0, 10000)) stays linear;
+     * falls back to a full sort of the range if pivots keep going bad.
+     */
+    static void select(int[] a, int from, int to, int index) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        while (to - from > SELECT_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                Arrays.sort(a, from, to);
+                return;
+            }
+            int pivot = medianOfThree(a[from], a[(from + to) >>> 1], a[to - 1]);
+            // [from, lt) < pivot, [lt, i) == pivot, (gt, to) > pivot
+            int lt = from;
+            int gt = to - 1;
+            int i = from;
+            while (i <= gt) {
+                int value = a[i];
+                if (value < pivot) {
+                    a[i++] = a[lt];
+                    a[lt++] = value;
+                } else if (value > pivot) {
+                    a[i] = a[gt];
+                    a[gt--] = value;
+                } else {
+                    i++;
+                }
+            }
+            if (index < lt) {
+                to = lt;
+            } else if (index > gt) {
+                from = gt + 1;
+            } else {
+                return; // index is inside the run equal to the pivot
+            }
+        }
+        Arrays.sort(a, from, to);
+    }
+    
+    static <T> void select(T[] a, int from, int to, int index, Comparator<? super T> comparator) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        while (to - from > SELECT_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                Arrays.sort(a, from, to, comparator);
+                return;
+            }
+            T x = a[from];
+            T y = a[(from + to) >>> 1];
+            T z = a[to - 1];
+            T pivot = comparator.compare(x, y) < 0
+                    ? (comparator.compare(y, z) < 0 ? y : (comparator.compare(x, z) < 0 ? z : x))
+                    : (comparator.compare(x, z) < 0 ? x : (comparator.compare(y, z) < 0 ? z : y));
+            int lt = from;
+            int gt = to - 1;
+            int i = from;
+            while (i <= gt) {
+                T value = a[i];
+                int c = comparator.compare(value, pivot);
+                if (c < 0) {
+                    a[i++] = a[lt];
+                    a[lt++] = value;
+                } else if (c > 0) {
+                    a[i] = a[gt];
+                    a[gt--] = value;
+                } else {
+                    i++;
+                }
+            }
+            if (index < lt) {
+                to = lt;
+            } else if (index > gt) {
+                from = gt + 1;
+            } else {
+                return;
+            }
+        }
+        Arrays.sort(a, from, to, comparator);
+    }
+    
+    private static int medianOfThree(int x, int y, int z) {
+        return x < y
+                ? (y < z ? y : Math.max(x, z))
+                : (x < z ? x : Math.max(y, z));
+    }
+    
+    // Radix scratch buffer, kept per thread so repeated sorts don't allocate
+    private static int[] sortScratch(int length) {
+        int[] scratch = radixScratch.get();
+        if (scratch.length < length) {
+            scratch = new int[length];
+        }
+        return scratch;
+    }
+    
+    private static void releaseSortScratch(int[] scratch) {
+        // Don't pin huge arrays to a pooled thread forever
+        if (scratch.length <= MAX_RETAINED_SCRATCH) {
+            radixScratch.set(scratch);
+        }
+    }
+    
+    /**
+     * ✅ GOOD: Same grayscale + gamma result as HeavyProcessor.heavyImageProcessing
+     * 
+     * - One getPixels()/setPixels() for the whole image instead of a
+     *   getPixel()/setPixel() JNI call per pixel (column by column, cache-unfriendly)
+     * - Math.pow() replaced by a 256-entry lookup table
+     * - Row stripes processed in parallel on a fork-join pool
+     * 
+     * Still O(pixels): call it on a background thread.
+     */
+    public static Bitmap efficientImageProcessing(Bitmap original) {
+        if (original == null) return null;
+        
+        int width = original.getWidth();
+        int height = original.getHeight();
+        int[] pixels = new int[width * height];
+        original.getPixels(pixels, 0, width, 0, 0, width, height);
+        
+        grayscaleGamma(pixels, pixels, width, height);
+        
+        // Mutable ARGB_8888 like the original's copy(), so it can go back to BitmapPool
+        Bitmap result = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        result.setPixels(pixels, 0, width, 0, 0, width, height);
+        return result;
+    }
+    
+    /**
+     * Grayscale + gamma on ARGB pixels (row-major, width x height); src and dst may be the same array.
+     * Output alpha is always 0xFF, as Color.rgb() gives in the original.
+     */
+    public static void grayscaleGamma(int[] src, int[] dst, int width, int height) {
+        if (src.length < width * height || dst.length < width * height) {
+            throw new IllegalArgumentException("Buffers smaller than " + width + "x" + height);
+        }
+        int stripeRows = Math.max(1, MIN_STRIPE_PIXELS / Math.max(1, width));
+        if (height <= stripeRows) {
+            grayscaleGammaRows(src, dst, width, 0, height); // Too small to be worth splitting
+        } else {
+            imagePool.invoke(new GrayscaleStripe(src, dst, width, 0, height, stripeRows));
+        }
+    }
+    
+    /**
+     * Single-threaded kernel for rows [fromRow, toRow)
+     */
+    static void grayscaleGammaRows(int[] src, int[] dst, int width, int fromRow, int toRow) {
+        final int[] lut = GAMMA_LUT;
+        int end = toRow * width;
+        for (int i = fromRow * width; i < end; i++) {
+            int pixel = src[i];
+            int gray = lut[(((pixel >> 16) & 0xFF) + ((pixel >> 8) & 0xFF) + (pixel & 0xFF)) / 3];
+            dst[i] = 0xFF000000 | (gray << 16) | (gray << 8) | gray;
+        }
+    }
+    
+    /**
+     * Splits its rows in half until a stripe is small enough to run directly
+     */
+    private static final class GrayscaleStripe extends RecursiveAction {
+        private final int[] src;
+        private final int[] dst;
+        private final int width;
+        private final int fromRow;
+        private final int toRow;
+        private final int stripeRows;
+        
+        GrayscaleStripe(int[] src, int[] dst, int width, int fromRow, int toRow, int stripeRows) {
+            this.src = src;
+            this.dst = dst;
+            this.width = width;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.stripeRows = stripeRows;
+        }
+        
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= stripeRows) {
+                grayscaleGammaRows(src, dst, width, fromRow, toRow);
+                return;
+            }
+            int middle = (fromRow + toRow) >>> 1;
+            invokeAll(new GrayscaleStripe(src, dst, width, fromRow, middle, stripeRows),
+                    new GrayscaleStripe(src, dst, width, middle, toRow, stripeRows));
+        }
+    }
+    
     /**
      * Shutdown executor
      */
     public static void shutdown() {
         executor.shutdown();
+        imagePool.shutdown();
     }
 }
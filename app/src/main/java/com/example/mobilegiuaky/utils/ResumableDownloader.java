@@ -0,0 +1,258 @@
+package com.example.mobilegiuaky.utils;
+
+import android.util.Log;
+
+import com.example.mobilegiuaky.api.ApiClient;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * ✅ GOOD: Downloads that continue where they stopped
+ *
+ * A failed transfer normally starts again from byte 0. Here the bytes received
+ * so far stay in "<target>.part", and "<target>.meta" remembers which version
+ * of the file they belong to (ETag or Last-Modified) and its total length.
+ * The next attempt - a retry, or a new call after the app was killed - sends
+ *   Range: bytes=<part length>-
+ *   If-Range: <validator>
+ * and the server answers 206 with the rest, or 200 with the whole file if it
+ * changed meanwhile (the part is then discarded). The Express /images route
+ * supports both.
+ */
+public final class ResumableDownloader {
+
+    private static final String TAG = "ResumableDownloader";
+
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long INITIAL_RETRY_DELAY_MS = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long PROGRESS_STEP_BYTES = 64 * 1024; // Do not report every read
+
+    private static OkHttpClient client;
+
+    private ResumableDownloader() {}
+
+    public interface ProgressListener {
+        /**
+         * @param totalBytes -1 when the server did not send a length
+         */
+        void onProgress(long bytesDone, long totalBytes);
+    }
+
+    /**
+     * Download url into target, resuming a previous partial download if one is there.
+     * Blocking: call on a background thread. Retries with backoff; on final failure
+     * the partial file is kept for the next call.
+     */
+    public static void download(String url, File target, ProgressListener listener) throws IOException {
+        File part = new File(target.getPath() + ".part");
+        File meta = new File(target.getPath() + ".meta");
+
+        IOException lastError = null;
+        long delayMs = INITIAL_RETRY_DELAY_MS;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                attempt(url, part, meta, listener);
+                if (!part.renameTo(target)) {
+                    throw new IOException("Cannot move " + part + " to " + target);
+                }
+                meta.delete();
+                return;
+            } catch (InterruptedIOException e) {
+                throw e; // Cancelled: keep the part, do not retry
+            } catch (IOException e) {
+                lastError = e;
+                Log.w(TAG, "Attempt " + attempt + " failed at " + part.length() + " bytes: " + e.getMessage());
+            }
+            if (attempt < MAX_ATTEMPTS) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted between retries");
+                }
+                delayMs *= 2;
+            }
+        }
+        throw lastError;
+    }
+
+    /**
+     * Delete the partial state of a download that will not be resumed
+     */
+    public static void discard(File target) {
+        new File(target.getPath() + ".part").delete();
+        new File(target.getPath() + ".meta").delete();
+    }
+
+    private static void attempt(String url, File part, File meta, ProgressListener listener) throws IOException {
+        PartState state = PartState.read(part, meta);
+
+        Request.Builder request = new Request.Builder()
+                .url(url)
+                .header("Accept-Encoding", "identity"); // Byte ranges of the file itself, not of a gzip stream
+        if (state != null) {
+            request.header("Range", "bytes=" + state.length + "-");
+            request.header("If-Range", state.validator);
+        }
+
+        try (Response response = getClient().newCall(request.build()).execute()) {
+            ResponseBody body = response.body();
+
+            if (response.code() == 416 && state != null && state.length == state.totalLength) {
+                return; // Everything was already there
+            }
+            if (!response.isSuccessful() || body == null) {
+                if (response.code() == 416) discardPart(part, meta); // Our range is wrong
+                throw new IOException("HTTP Error: " + response.code());
+            }
+
+            long offset;
+            long total;
+            if (response.code() == 206 && state != null) {
+                long[] range = parseContentRange(response.header("Content-Range"));
+                if (range == null || range[0] != state.length
+                        || (state.totalLength >= 0 && range[1] >= 0 && range[1] != state.totalLength)) {
+                    discardPart(part, meta);
+                    throw new IOException("Unexpected Content-Range: " + response.header("Content-Range"));
+                }
+                offset = state.length;
+                total = state.totalLength;
+            } else {
+                // 200: first attempt, or the file changed (If-Range failed) - start over
+                offset = 0;
+                total = body.contentLength();
+                String validator = validatorOf(response);
+                if (validator != null) {
+                    PartState.write(meta, validator, total);
+                } else {
+                    meta.delete(); // Not resumable: nothing to check a part against
+                }
+            }
+
+            long done = copy(body.byteStream(), part, offset, total, listener);
+            if (total >= 0 && done != total) {
+                throw new IOException("Incomplete: " + done + " of " + total + " bytes");
+            }
+        }
+    }
+
+    // Appends (offset > 0) or rewrites the part file; returns its final length
+    private static long copy(InputStream in, File part, long offset, long total,
+                             ProgressListener listener) throws IOException {
+        long done = offset;
+        long reported = offset;
+        if (listener != null) listener.onProgress(done, total);
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (OutputStream out = new FileOutputStream(part, offset > 0)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read); // Unbuffered: what was received survives a crash
+                done += read;
+                if (listener != null && done - reported >= PROGRESS_STEP_BYTES) {
+                    reported = done;
+                    listener.onProgress(done, total);
+                }
+            }
+        }
+        if (listener != null && reported != done) listener.onProgress(done, total);
+        return done;
+    }
+
+    // A strong ETag, else Last-Modified; weak ETags (W/"...") are not allowed in If-Range
+    private static String validatorOf(Response response) {
+        String etag = response.header("ETag");
+        if (etag != null && !etag.startsWith("W/")) {
+            return etag;
+        }
+        return response.header("Last-Modified");
+    }
+
+    /**
+     * "bytes 100-999/1000" -> {100, 1000}; total is -1 for "/*"; null if unparseable
+     */
+    static long[] parseContentRange(String header) {
+        if (header == null || !header.startsWith("bytes ")) return null;
+        try {
+            int dash = header.indexOf('-');
+            int slash = header.indexOf('/');
+            if (dash < 0 || slash < dash) return null;
+            long start = Long.parseLong(header.substring(6, dash).trim());
+            String total = header.substring(slash + 1).trim();
+            return new long[]{start, "*".equals(total) ? -1 : Long.parseLong(total)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void discardPart(File part, File meta) {
+        part.delete();
+        meta.delete();
+    }
+
+    private static synchronized OkHttpClient getClient() {
+        if (client == null) {
+            // Shared connection pool; no HTTP cache (206 responses are not cacheable,
+            // and the downloaded file is already the cached copy)
+            client = ApiClient.getHttpClient().newBuilder().cache(null).build();
+        }
+        return client;
+    }
+
+    /**
+     * What a .part file holds: its length, plus the validator and total length from .meta
+     */
+    private static final class PartState {
+        final long length;
+        final String validator;
+        final long totalLength;
+
+        private PartState(long length, String validator, long totalLength) {
+            this.length = length;
+            this.validator = validator;
+            this.totalLength = totalLength;
+        }
+
+        // null when there is nothing (valid) to resume
+        static PartState read(File part, File meta) {
+            if (!part.exists() || part.length() == 0 || !meta.exists()) {
+                discardPart(part, meta);
+                return null;
+            }
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new FileInputStream(meta), StandardCharsets.UTF_8))) {
+                String validator = reader.readLine();
+                long total = Long.parseLong(reader.readLine());
+                if (validator == null || (total >= 0 && part.length() > total)) {
+                    discardPart(part, meta);
+                    return null;
+                }
+                return new PartState(part.length(), validator, total);
+            } catch (IOException | RuntimeException e) {
+                discardPart(part, meta);
+                return null;
+            }
+        }
+
+        static void write(File meta, String validator, long totalLength) throws IOException {
+            try (OutputStream out = new FileOutputStream(meta)) {
+                out.write((validator + "\n" + totalLength + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+}
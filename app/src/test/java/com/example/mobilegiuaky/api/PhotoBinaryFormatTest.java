@@ -0,0 +1,141 @@
+package com.example.mobilegiuaky.api;
+
+import com.example.mobilegiuaky.model.Photo;
+import com.example.mobilegiuaky.model.PhotoPage;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * PHB1 binary format: round trips, plus payload size and decode time
+ * against the JSON path (Gson + PhotoTypeAdapter) on 100k photos.
+ */
+public class PhotoBinaryFormatTest {
+
+    private static final int BENCHMARK_SIZE = 100_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final Type PHOTO_LIST = new TypeToken<List<Photo>>() {}.getType();
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(Photo.class, new PhotoTypeAdapter())
+            .create();
+
+    @Test
+    public void listRoundTripMatchesJson() throws IOException {
+        List<Photo> photos = gson.fromJson(PhotoTypeAdapterTest.buildPayload(500), PHOTO_LIST);
+        photos.get(3).setTitle("Ảnh đẹp 😀");
+        photos.get(5).setDescription(null);
+        photos.get(7).setSummary("Short");
+
+        List<Photo> decoded = PhotoBinaryFormat.decodeList(PhotoBinaryFormat.encodeList(photos));
+
+        assertEquals(gson.toJson(photos), gson.toJson(decoded));
+    }
+
+    @Test
+    public void pageRoundTripKeepsEnvelope() throws IOException {
+        List<Photo> photos = gson.fromJson(PhotoTypeAdapterTest.buildPayload(20), PHOTO_LIST);
+        PhotoPage page = new PhotoPage(photos, "MjAyNC0wMS0wMVQxMDowMDowMC4wMDBafDIw", true,
+                "2024-02-01T08:30:00.123Z");
+
+        PhotoPage decoded = PhotoBinaryFormat.decodePage(PhotoBinaryFormat.encodePage(page));
+
+        assertEquals(gson.toJson(page), gson.toJson(decoded));
+
+        PhotoPage last = PhotoBinaryFormat.decodePage(PhotoBinaryFormat.encodePage(
+                new PhotoPage(photos.subList(0, 0), null, false, null)));
+        assertFalse(last.hasMore());
+        assertNull(last.getNextCursor());
+        assertNull(last.getServerTime());
+        assertEquals(0, last.getItems().size());
+    }
+
+    @Test
+    public void timestampsKeepIsoForm() {
+        String[] values = {
+                "1970-01-01T00:00:00.000Z", "1969-12-31T23:59:59.999Z", "2000-02-29T12:34:56.789Z",
+                "2024-01-31T10:00:00.000Z", "2099-12-31T23:59:59.001Z"
+        };
+        for (String value : values) {
+            assertEquals(value, PhotoBinaryFormat.formatIso(PhotoBinaryFormat.parseIso(value)));
+        }
+        assertEquals(951_827_696_789L, PhotoBinaryFormat.parseIso("2000-02-29T12:34:56.789Z"));
+        assertEquals(Long.MIN_VALUE, PhotoBinaryFormat.parseIso("2024-01-31 10:00:00"));
+    }
+
+    @Test
+    public void urlPrefixStripsTrailingDigits() {
+        assertEquals("https://picsum.photos/800/600?random=",
+                PhotoBinaryFormat.urlPrefix("https://picsum.photos/800/600?random=42"));
+        assertEquals("https://example.com/a.jpg", PhotoBinaryFormat.urlPrefix("https://example.com/a.jpg"));
+        assertEquals("", PhotoBinaryFormat.urlPrefix("12345"));
+    }
+
+    @Test
+    public void rejectsMalformedPayloads() {
+        byte[] valid = PhotoBinaryFormat.encodeList(
+                gson.fromJson(PhotoTypeAdapterTest.buildPayload(3), PHOTO_LIST));
+
+        assertThrowsIo(() -> PhotoBinaryFormat.decodeList("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8)));
+        assertThrowsIo(() -> PhotoBinaryFormat.decodePage(valid));
+        assertThrowsIo(() -> PhotoBinaryFormat.decodeList(Arrays.copyOf(valid, valid.length - 5)));
+    }
+
+    @Test
+    public void benchmarkAgainstJson() throws IOException {
+        String json = PhotoTypeAdapterTest.buildPayload(BENCHMARK_SIZE);
+        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        byte[] binary = PhotoBinaryFormat.encodeList(gson.fromJson(json, PHOTO_LIST));
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            gson.fromJson(new String(jsonBytes, StandardCharsets.UTF_8), PHOTO_LIST);
+            PhotoBinaryFormat.decodeList(binary);
+        }
+
+        long jsonNanos = 0;
+        long binaryNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            List<Photo> fromJson = gson.fromJson(new String(jsonBytes, StandardCharsets.UTF_8), PHOTO_LIST);
+            jsonNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<Photo> fromBinary = PhotoBinaryFormat.decodeList(binary);
+            binaryNanos += System.nanoTime() - start;
+
+            assertEquals(fromJson.size(), fromBinary.size());
+        }
+
+        double jsonMs = jsonNanos / 1e6 / MEASURED_ROUNDS;
+        double binaryMs = binaryNanos / 1e6 / MEASURED_ROUNDS;
+        System.out.printf("Photo list, %d elements: JSON %.1f MB / %.1f ms, PHB1 %.1f MB / %.1f ms "
+                        + "(%.0f%% of the bytes, %.2fx faster)%n",
+                BENCHMARK_SIZE, jsonBytes.length / 1e6, jsonMs, binary.length / 1e6, binaryMs,
+                100.0 * binary.length / jsonBytes.length, jsonMs / binaryMs);
+        assertTrue(binary.length < jsonBytes.length);
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private static void assertThrowsIo(IoAction action) {
+        try {
+            action.run();
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // ok
+        }
+    }
+}
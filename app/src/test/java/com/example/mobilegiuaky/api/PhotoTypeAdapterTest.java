@@ -0,0 +1,128 @@
+package com.example.mobilegiuaky.api;
+
+import com.example.mobilegiuaky.model.Photo;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * PhotoTypeAdapter vs Gson's reflective adapter:
+ * same results, plus a parse-time benchmark on a 100k-element payload (host JVM).
+ */
+public class PhotoTypeAdapterTest {
+
+    private static final int BENCHMARK_SIZE = 100_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final Type PHOTO_LIST = new TypeToken<List<Photo>>() {}.getType();
+
+    private final Gson reflectiveGson = new Gson();
+    private final Gson adapterGson = new GsonBuilder()
+            .registerTypeAdapter(Photo.class, new PhotoTypeAdapter())
+            .create();
+
+    @Test
+    public void readsSameFieldsAsReflectivePath() {
+        String json = buildPayload(500);
+        List<Photo> expected = reflectiveGson.fromJson(json, PHOTO_LIST);
+        List<Photo> actual = adapterGson.fromJson(json, PHOTO_LIST);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertPhotoEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void skipsNullsAndUnknownFields() {
+        String json = "{\"id\":7,\"title\":null,\"extra\":{\"a\":[1,2]},\"file_size_kb\":12}";
+        Photo photo = adapterGson.fromJson(json, Photo.class);
+
+        assertEquals(7, photo.getId());
+        assertNull(photo.getTitle());
+        assertEquals(12, photo.getFileSizeKb());
+    }
+
+    @Test
+    public void writesSameJsonAsReflectivePath() {
+        Photo photo = new Photo(0, "New Photo", "Added by admin", "https://picsum.photos/800/600?random=1",
+                "photo_1.jpg", 1024);
+        assertEquals(reflectiveGson.toJson(photo), adapterGson.toJson(photo));
+    }
+
+    @Test
+    public void internsRepeatedTimestamps() {
+        List<Photo> photos = adapterGson.fromJson(buildPayload(10), PHOTO_LIST);
+        assertSame(photos.get(0).getUpdatedAt(), photos.get(9).getUpdatedAt());
+    }
+
+    @Test
+    public void benchmarkAgainstReflectivePath() {
+        String json = buildPayload(BENCHMARK_SIZE);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            reflectiveGson.fromJson(json, PHOTO_LIST);
+            adapterGson.fromJson(json, PHOTO_LIST);
+        }
+
+        long reflectiveNanos = 0;
+        long adapterNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            List<Photo> reflective = reflectiveGson.fromJson(json, PHOTO_LIST);
+            reflectiveNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<Photo> adapted = adapterGson.fromJson(json, PHOTO_LIST);
+            adapterNanos += System.nanoTime() - start;
+
+            assertEquals(reflective.size(), adapted.size());
+        }
+
+        double reflectiveMs = reflectiveNanos / 1e6 / MEASURED_ROUNDS;
+        double adapterMs = adapterNanos / 1e6 / MEASURED_ROUNDS;
+        System.out.printf("Photo parse, %d elements (%.1f MB): reflective %.1f ms, TypeAdapter %.1f ms (%.2fx)%n",
+                BENCHMARK_SIZE, json.length() / 1e6, reflectiveMs, adapterMs, reflectiveMs / adapterMs);
+    }
+
+    private static void assertPhotoEquals(Photo expected, Photo actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getImageUrl(), actual.getImageUrl());
+        assertEquals(expected.getFileName(), actual.getFileName());
+        assertEquals(expected.getFileSizeKb(), actual.getFileSizeKb());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+    }
+
+    /**
+     * Same shape as GET /api/photos from the backend
+     */
+    static String buildPayload(int count) {
+        StringBuilder json = new StringBuilder(count * 400);
+        json.append('[');
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) json.append(',');
+            json.append("{\"id\":").append(i)
+                    .append(",\"title\":\"Amazing Photo ").append(i).append('"')
+                    .append(",\"description\":\"A beautiful landscape capturing the essence of nature. Photo ID: ")
+                    .append(i).append('"')
+                    .append(",\"image_url\":\"https://picsum.photos/800/600?random=").append(i).append('"')
+                    .append(",\"file_name\":\"photo_").append(i).append(".jpg\"")
+                    .append(",\"file_size_kb\":").append(500 + (i * 37) % 2000)
+                    .append(",\"created_at\":\"2024-01-").append(String.format("%02d", 1 + i % 28))
+                    .append("T10:00:00.000Z\"")
+                    .append(",\"updated_at\":\"2024-02-01T08:30:00.000Z\"}");
+        }
+        json.append(']');
+        return json.toString();
+    }
+}
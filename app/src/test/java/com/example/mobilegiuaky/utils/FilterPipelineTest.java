@@ -0,0 +1,153 @@
+package com.example.mobilegiuaky.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FilterPipelineTest {
+
+    private static int[] randomImage(int width, int height, long seed) {
+        Random random = new Random(seed);
+        int[] pixels = new int[width * height];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = random.nextInt();
+        }
+        return pixels;
+    }
+
+    // Output pixels only: the buffer may be longer than width * height
+    private static int[] pixels(FilterPipeline.Image image) {
+        int[] out = new int[image.width * image.height];
+        System.arraycopy(image.pixels, 0, out, 0, out.length);
+        return out;
+    }
+
+    private static int[] applyOneByOne(int[] src, int width, int height, FilterPipeline.Builder... steps) {
+        int[] current = src;
+        for (FilterPipeline.Builder step : steps) {
+            FilterPipeline.Image image = step.build().apply(current, width, height);
+            current = pixels(image);
+            width = image.width;
+            height = image.height;
+        }
+        return current;
+    }
+
+    @Test
+    public void grayscaleGammaMatchesOptimizedProcessor() {
+        int[] src = randomImage(300, 200, 1);
+        for (int i = 0; i < src.length; i++) {
+            src[i] |= 0xFF000000; // The pipeline keeps alpha; the processor forces it opaque
+        }
+        int[] expected = new int[src.length];
+        OptimizedProcessor.grayscaleGamma(src, expected, 300, 200);
+
+        FilterPipeline pipeline = new FilterPipeline.Builder().grayscale().gamma(0.8).build();
+        assertArrayEquals(expected, pixels(pipeline.apply(src, 300, 200)));
+    }
+
+    @Test
+    public void fusedPointOpsMatchSeparatePasses() {
+        int[] src = randomImage(97, 61, 2);
+        FilterPipeline fused = new FilterPipeline.Builder()
+                .gamma(1.4).grayscale().brightnessContrast(-20, 1.3f).grayscale().gamma(0.7)
+                .build();
+        assertEquals(1, fused.getPassCount());
+
+        int[] expected = applyOneByOne(src, 97, 61,
+                new FilterPipeline.Builder().gamma(1.4),
+                new FilterPipeline.Builder().grayscale(),
+                new FilterPipeline.Builder().brightnessContrast(-20, 1.3f),
+                new FilterPipeline.Builder().grayscale(),
+                new FilterPipeline.Builder().gamma(0.7));
+        assertArrayEquals(expected, pixels(fused.apply(src, 97, 61)));
+    }
+
+    @Test
+    public void pointOpsAfterBlurAndResizeAreFusedIntoThem() {
+        int[] src = randomImage(150, 110, 3);
+        FilterPipeline fused = new FilterPipeline.Builder()
+                .brightnessContrast(15, 0.9f)
+                .gaussianBlur(1.2f).grayscale().gamma(0.8)
+                .resize(64, 40).brightnessContrast(5, 1.1f)
+                .build();
+        assertEquals(3, fused.getPassCount());
+
+        int[] expected = applyOneByOne(src, 150, 110,
+                new FilterPipeline.Builder().brightnessContrast(15, 0.9f),
+                new FilterPipeline.Builder().gaussianBlur(1.2f),
+                new FilterPipeline.Builder().grayscale(),
+                new FilterPipeline.Builder().gamma(0.8),
+                new FilterPipeline.Builder().resize(64, 40),
+                new FilterPipeline.Builder().brightnessContrast(5, 1.1f));
+        FilterPipeline.Image out = fused.apply(src, 150, 110);
+        assertEquals(64, out.width);
+        assertEquals(40, out.height);
+        assertArrayEquals(expected, pixels(out));
+    }
+
+    @Test
+    public void tileSizeDoesNotChangeTheResult() {
+        int[] src = randomImage(203, 157, 4);
+        int[] whole = pixels(new FilterPipeline.Builder().tileSize(4096)
+                .gaussianBlur(2.5f).boxBlur(3).resize(101, 77).build().apply(src, 203, 157));
+        for (int tile : new int[]{1, 5, 16, 64}) {
+            int[] tiled = pixels(new FilterPipeline.Builder().tileSize(tile)
+                    .gaussianBlur(2.5f).boxBlur(3).resize(101, 77).build().apply(src, 203, 157));
+            assertArrayEquals("tile " + tile, whole, tiled);
+        }
+    }
+
+    @Test
+    public void boxBlurAveragesTheNeighbourhood() {
+        // 3x3 box blur on a single white pixel in black: the centre 3x3 becomes 255 / 9
+        int[] src = new int[7 * 7];
+        Arrays.fill(src, 0xFF000000);
+        src[3 * 7 + 3] = 0xFFFFFFFF;
+        int[] out = pixels(new FilterPipeline.Builder().boxBlur(1).build().apply(src, 7, 7));
+        for (int y = 0; y < 7; y++) {
+            for (int x = 0; x < 7; x++) {
+                int expected = Math.abs(x - 3) <= 1 && Math.abs(y - 3) <= 1 ? 28 : 0; // 255 / 9 = 28.3
+                assertEquals(x + "," + y, 0xFF000000 | expected << 16 | expected << 8 | expected, out[y * 7 + x]);
+            }
+        }
+    }
+
+    @Test
+    public void blurKeepsFlatImagesFlat() {
+        int[] src = new int[40 * 30];
+        Arrays.fill(src, 0x80336699);
+        int[] out = pixels(new FilterPipeline.Builder().tileSize(8).gaussianBlur(4f).build().apply(src, 40, 30));
+        assertArrayEquals(src, out);
+    }
+
+    @Test
+    public void resizeAveragesSourceBlocks() {
+        // 4x2 -> 2x1: each output pixel is the mean of a 2x2 block
+        int[] src = {
+                0xFF000000, 0xFF040404, 0xFF102030, 0xFF102030,
+                0xFF080808, 0xFF0C0C0C, 0xFF102030, 0xFF102030,
+        };
+        FilterPipeline.Image out = new FilterPipeline.Builder().resize(2, 1).build().apply(src, 4, 2);
+        assertArrayEquals(new int[]{0xFF060606, 0xFF102030}, pixels(out));
+    }
+
+    @Test
+    public void inputIsNeverModified() {
+        int[] src = randomImage(64, 64, 5);
+        int[] copy = src.clone();
+        new FilterPipeline.Builder().grayscale().build().apply(src, 64, 64);
+        new FilterPipeline.Builder().gaussianBlur(1).grayscale().boxBlur(2).build().apply(src, 64, 64);
+        FilterPipeline.Image empty = new FilterPipeline.Builder().build().apply(src, 64, 64);
+        assertArrayEquals(copy, src);
+        assertNotSame(src, empty.pixels);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsShortBuffers() {
+        new FilterPipeline.Builder().grayscale().build().apply(new int[10], 4, 3);
+    }
+}
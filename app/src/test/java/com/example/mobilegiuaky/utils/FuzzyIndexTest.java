@@ -0,0 +1,243 @@
+package com.example.mobilegiuaky.utils;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Results must equal a full Levenshtein scan (HeavyProcessor.calculateLevenshteinDistance);
+ * the benchmark reports per-query time on 100k titles.
+ */
+public class FuzzyIndexTest {
+
+    private static final String[] WORDS = {
+            "sunset", "beach", "mountain", "peak", "city", "lights", "forest", "path", "ocean", "waves",
+            "desert", "dunes", "autumn", "leaves", "night", "sky", "waterfall", "flower", "garden", "amazing",
+            "photo", "hoàng", "hôn", "biển", "núi", "rừng", "thành", "phố", "lake", "river",
+    };
+
+    // Full matrix, as in HeavyProcessor
+    private static int levenshtein(String s1, String s2) {
+        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
+        for (int i = 0; i <= s1.length(); i++) {
+            for (int j = 0; j <= s2.length(); j++) {
+                if (i == 0) {
+                    dp[i][j] = j;
+                } else if (j == 0) {
+                    dp[i][j] = i;
+                } else {
+                    dp[i][j] = Math.min(
+                            dp[i - 1][j - 1] + (s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1),
+                            Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1));
+                }
+            }
+        }
+        return dp[s1.length()][s2.length()];
+    }
+
+    // "Photo 123", "Amazing Photo 45", "Sunset Beach Lake", ... like the backend's sample data
+    private static List<String> titles(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> titles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            switch (random.nextInt(3)) {
+                case 0:
+                    titles.add("Photo " + random.nextInt(count));
+                    break;
+                case 1:
+                    titles.add("Amazing Photo " + random.nextInt(count));
+                    break;
+                default:
+                    StringBuilder title = new StringBuilder();
+                    for (int w = 1 + random.nextInt(3); w > 0; w--) {
+                        String word = WORDS[random.nextInt(WORDS.length)];
+                        if (title.length() > 0) title.append(' ');
+                        title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+                    }
+                    titles.add(title.toString());
+            }
+        }
+        return titles;
+    }
+
+    // Up to two random edits of a random title
+    private static String typo(String title, Random random) {
+        StringBuilder s = new StringBuilder(title.toLowerCase());
+        for (int e = random.nextInt(3); e > 0 && s.length() > 1; e--) {
+            int at = random.nextInt(s.length());
+            switch (random.nextInt(3)) {
+                case 0: s.setCharAt(at, (char) ('a' + random.nextInt(26))); break;
+                case 1: s.deleteCharAt(at); break;
+                default: s.insert(at, (char) ('0' + random.nextInt(10)));
+            }
+        }
+        return s.toString();
+    }
+
+    private static List<Integer> bruteForce(List<String> titles, String query, int k) {
+        List<Integer> result = new ArrayList<>();
+        String q = query.toLowerCase();
+        for (int i = 0; i < titles.size(); i++) {
+            if (titles.get(i) != null && levenshtein(titles.get(i).toLowerCase(), q) <= k) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    private static List<Integer> search(FuzzyIndex.Searcher searcher, String query, int k) {
+        List<Integer> result = new ArrayList<>();
+        int count = searcher.search(query, k, result::add);
+        assertEquals(result.size(), count);
+        Collections.sort(result);
+        return result;
+    }
+
+    @Test
+    public void distanceMatchesFullMatrix() {
+        Random random = new Random(1);
+        String alphabet = "abcdeéêạ ";
+        for (int round = 0; round < 3000; round++) {
+            // Up to 80 chars so both the bit-parallel and the DP paths run
+            StringBuilder a = new StringBuilder();
+            StringBuilder b = new StringBuilder();
+            int length = random.nextInt(round % 10 == 0 ? 80 : 12);
+            for (int i = 0; i < length; i++) {
+                a.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            b.append(typo(a.toString(), random));
+            if (random.nextBoolean()) b.append(alphabet.charAt(random.nextInt(alphabet.length())));
+
+            int exact = levenshtein(a.toString(), b.toString());
+            for (int max = 0; max <= 4; max++) {
+                int expected = exact <= max ? exact : max + 1;
+                assertEquals(a + " / " + b + " max " + max, expected, FuzzyIndex.distance(a, b, max));
+            }
+        }
+    }
+
+    @Test
+    public void searchMatchesBruteForce() {
+        List<String> titles = titles(3000, 2);
+        titles.add(null);
+        titles.add("");
+        titles.add("Photo 12");
+        titles.add("PHOTO 12"); // Same lowercase text: both reported
+        FuzzyIndex index = new FuzzyIndex(titles);
+        FuzzyIndex.Searcher searcher = index.newSearcher();
+
+        Random random = new Random(3);
+        for (int round = 0; round < 200; round++) {
+            String query = typo(titles.get(random.nextInt(3000)), random);
+            int k = random.nextInt(4);
+            assertEquals(query + " k=" + k, bruteForce(titles, query, k), search(searcher, query, k));
+        }
+        assertEquals(bruteForce(titles, "photo 12", 0), search(searcher, "Photo 12", 0));
+        assertEquals(2, search(searcher, "Photo 12", 0).size());
+        assertEquals(bruteForce(titles, "ab", 2), search(searcher, "ab", 2)); // Includes the empty title
+    }
+
+    @Test
+    public void queriesLongerThan64CharsUseTheFallback() {
+        List<String> titles = new ArrayList<>();
+        String base = "A very long photo title that keeps going well past sixty four characters";
+        titles.add(base);
+        titles.add(base + "!");
+        titles.add(base.replace("very", "vary"));
+        titles.add(base.substring(10));
+        titles.add("short");
+        FuzzyIndex.Searcher searcher = new FuzzyIndex(titles).newSearcher();
+
+        for (int k = 0; k <= 3; k++) {
+            assertEquals(bruteForce(titles, base, k), search(searcher, base, k));
+        }
+    }
+
+    @Test
+    public void searcherReuseAcrossNonAsciiQueries() {
+        // Non-ASCII pattern masks live in a hash table that each query must fully reset
+        List<String> titles = Arrays.asList("xả", "ảả", "ảx", "bả");
+        FuzzyIndex.Searcher searcher = new FuzzyIndex(titles).newSearcher();
+
+        for (String query : new String[]{"ảb", "xả", "ảx", "ảả", "bả", "ảb"}) {
+            for (int k = 0; k <= 2; k++) {
+                assertEquals(query + " k=" + k, bruteForce(titles, query, k), search(searcher, query, k));
+            }
+        }
+        search(searcher, "ảb", 1);
+        assertEquals(Collections.singletonList(0), search(searcher, "xả", 0));
+        assertEquals(Collections.singletonList(2), search(searcher, "ảx", 0));
+    }
+
+    @Test
+    public void emptyIndexAndQuery() {
+        FuzzyIndex.Searcher empty = new FuzzyIndex(Collections.<String>emptyList()).newSearcher();
+        assertEquals(0, empty.search("photo", 2, i -> fail()));
+
+        FuzzyIndex.Searcher searcher = new FuzzyIndex(Arrays.asList("a", "b")).newSearcher();
+        assertEquals(0, searcher.search("", 2, i -> fail()));
+        assertEquals(0, searcher.search("a", -1, i -> fail()));
+    }
+
+    @Test
+    public void benchmark100kTitles() {
+        List<String> titles = titles(100_000, 4);
+        long buildStart = System.nanoTime();
+        FuzzyIndex index = new FuzzyIndex(titles);
+        double buildMs = (System.nanoTime() - buildStart) / 1e6;
+        FuzzyIndex.Searcher searcher = index.newSearcher();
+
+        Random random = new Random(5);
+        String[] queries = new String[1000];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = typo(titles.get(random.nextInt(titles.size())), random);
+        }
+
+        int[] hits = new int[1];
+        java.util.function.IntConsumer counter = item -> hits[0]++;
+        for (String query : queries) { // Warmup
+            searcher.search(query, 2, counter);
+        }
+
+        hits[0] = 0;
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (String query : queries) {
+            searcher.search(query, 2, counter);
+        }
+        double perQueryMs = (System.nanoTime() - start) / 1e6 / queries.length;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        // The full-matrix scan, for comparison (a few queries only: it is slow)
+        long scanStart = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(bruteForce(titles, queries[i], 2), search(searcher, queries[i], 2));
+        }
+        double scanMs = (System.nanoTime() - scanStart) / 1e6 / 3;
+
+        System.out.printf("FuzzyIndex: %d titles, %d trie nodes, built in %.1f ms%n",
+                titles.size(), index.getNodeCount(), buildMs);
+        System.out.printf("  distance <= 2: %.3f ms/query (%.1f hits avg), %s allocated over %d queries%n",
+                perQueryMs, (double) hits[0] / queries.length,
+                allocated < 0 ? "n/a" : allocated + " bytes", queries.length);
+        System.out.printf("  full Levenshtein scan: %.1f ms/query%n", scanMs);
+
+        assertTrue("Slower than a full scan", perQueryMs < scanMs);
+    }
+
+    // -1 when the JVM cannot tell
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
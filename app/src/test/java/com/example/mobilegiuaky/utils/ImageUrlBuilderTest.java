@@ -0,0 +1,69 @@
+package com.example.mobilegiuaky.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Size-aware image URLs for the hosts in the demo catalog and our /thumbs route
+ */
+public class ImageUrlBuilderTest {
+
+    private static final String BASE = "http://10.0.2.2:3000/";
+
+    @Test
+    public void picsumCoversTheViewAtTheOriginalAspect() {
+        // 300x300 px card: a 4:3 image needs width 400 for the height to cover 300 -> snapped to 480
+        assertEquals("https://picsum.photos/480/360?random=7",
+                ImageUrlBuilder.forSize("https://picsum.photos/800/600?random=7", 300, 300, BASE));
+        assertEquals("https://picsum.photos/id/10/240/180",
+                ImageUrlBuilder.forSize("https://picsum.photos/id/10/800/600", 200, 150, BASE));
+    }
+
+    @Test
+    public void loremflickrAndUnsplashKeepTheRestOfTheUrl() {
+        assertEquals("https://loremflickr.com/360/270/nature?random=2",
+                ImageUrlBuilder.forSize("https://loremflickr.com/800/600/nature?random=2", 300, 200, BASE));
+        assertEquals("https://source.unsplash.com/360x270/?landscape,nature&sig=3",
+                ImageUrlBuilder.forSize("https://source.unsplash.com/800x600/?landscape,nature&sig=3", 300, 200, BASE));
+    }
+
+    @Test
+    public void originalIsKeptWhenNoVariantIsSmaller() {
+        String url = "https://picsum.photos/800/600?random=1";
+        assertSame(url, ImageUrlBuilder.forSize(url, 1080, 750, BASE));
+        assertSame(url, ImageUrlBuilder.forSize(url, 2000, 1500, BASE));
+        assertSame(url, ImageUrlBuilder.forSize(url, 0, 0, BASE));
+    }
+
+    @Test
+    public void localImagesUseTheThumbsRoute() {
+        assertEquals(BASE + "thumbs/480/photo1.jpg",
+                ImageUrlBuilder.forSize(BASE + "images/photo1.jpg", 300, 300, BASE));
+        // Larger than any variant: the original
+        assertEquals(BASE + "images/photo1.jpg",
+                ImageUrlBuilder.forSize(BASE + "images/photo1.jpg", 1440, 750, BASE));
+    }
+
+    @Test
+    public void otherUrlsAreUnchanged() {
+        String[] urls = {
+                "https://example.com/images/photo1.jpg",
+                BASE + "images/sub/photo1.jpg",
+                "https://picsum.photos/800",
+                "not a url"
+        };
+        for (String url : urls) {
+            assertSame(url, ImageUrlBuilder.forSize(url, 300, 300, BASE));
+        }
+        assertNull(ImageUrlBuilder.forSize(null, 300, 300, BASE));
+    }
+
+    @Test
+    public void widthsSnapUpToTheServerList() {
+        assertEquals(120, ImageUrlBuilder.snapWidth(1));
+        assertEquals(240, ImageUrlBuilder.snapWidth(121));
+        assertEquals(1080, ImageUrlBuilder.snapWidth(1080));
+        assertEquals(0, ImageUrlBuilder.snapWidth(1081));
+    }
+}
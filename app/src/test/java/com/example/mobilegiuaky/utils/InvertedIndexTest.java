@@ -0,0 +1,184 @@
+package com.example.mobilegiuaky.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class InvertedIndexTest {
+
+    private static final String[] WORDS = {
+            "sunset", "sun", "sunny", "beach", "mountain", "peak", "city", "lights", "forest", "path",
+            "ocean", "waves", "desert", "dunes", "autumn", "leaves", "night", "sky", "photo", "photos",
+            "hoàng", "hôn", "biển", "núi", "12", "123", "2024",
+    };
+
+    private static String randomText(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) text.append(random.nextBoolean() ? " " : ", ");
+            String word = WORDS[random.nextInt(WORDS.length)];
+            text.append(random.nextInt(4) == 0 ? word.toUpperCase() : word);
+        }
+        return text.toString();
+    }
+
+    // What search() must return: docs where every query token prefixes some doc token
+    private static int[] reference(Map<Integer, String> docs, String query) {
+        List<String> queryTokens = new ArrayList<>();
+        InvertedIndex.tokenize(query, queryTokens);
+        if (queryTokens.isEmpty()) return new int[0];
+
+        List<Integer> ids = new ArrayList<>(docs.keySet());
+        java.util.Collections.sort(ids);
+        List<Integer> result = new ArrayList<>();
+        for (int id : ids) {
+            List<String> docTokens = new ArrayList<>();
+            InvertedIndex.tokenize(docs.get(id), docTokens);
+            boolean all = true;
+            for (String q : queryTokens) {
+                boolean any = false;
+                for (String t : docTokens) {
+                    if (t.startsWith(q)) {
+                        any = true;
+                        break;
+                    }
+                }
+                all &= any;
+            }
+            if (all) result.add(id);
+        }
+        int[] out = new int[result.size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = result.get(i);
+        }
+        return out;
+    }
+
+    // The fallback scan PhotoAdapter uses while the index catches up
+    private static int[] scan(Map<Integer, String> docs, String query) {
+        String[] queryTokens = InvertedIndex.queryTokens(query);
+        return docs.keySet().stream()
+                .filter(id -> InvertedIndex.matches(queryTokens, docs.get(id)))
+                .sorted()
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @Test
+    public void prefixAndAllWords() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Sunset Beach", "A beautiful sunset at the beach");
+        index.put(2, "Mountain Peak", "Snow-capped mountain peak");
+        index.put(3, "Hoàng hôn trên biển", null);
+        index.put(4, "Sunny city");
+
+        assertArrayEquals(new int[]{1, 4}, index.search("sun"));
+        assertArrayEquals(new int[]{1}, index.search("SUN bea"));
+        assertArrayEquals(new int[]{2}, index.search("snow-capped"));
+        assertArrayEquals(new int[]{3}, index.search("hôn biển"));
+        assertArrayEquals(new int[0], index.search("sun peak"));
+        assertArrayEquals(new int[0], index.search("unset")); // Prefixes of words, not substrings
+        assertArrayEquals(new int[0], index.search(" - "));
+
+        // The scan fallback follows the same rule
+        assertTrue(InvertedIndex.matches(InvertedIndex.queryTokens("SUN bea"), "Sunset Beach", null));
+        assertFalse(InvertedIndex.matches(InvertedIndex.queryTokens("set"), "Sunset over the sea"));
+        assertFalse(InvertedIndex.matches(InvertedIndex.queryTokens("o 1"), "Photo 12"));
+        assertFalse(InvertedIndex.matches(InvertedIndex.queryTokens(" - "), "Sunset Beach"));
+    }
+
+    @Test
+    public void updatesAndRemovesInPlace() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(10, "Ocean Waves");
+        index.put(5, "Ocean Sky");
+        assertArrayEquals(new int[]{5, 10}, index.search("ocean"));
+
+        index.put(10, "Desert Dunes"); // Changed text replaces the old tokens
+        assertArrayEquals(new int[]{5}, index.search("ocean"));
+        assertArrayEquals(new int[]{10}, index.search("dun"));
+
+        assertTrue(index.remove(5));
+        assertFalse(index.remove(5));
+        assertArrayEquals(new int[0], index.search("ocean"));
+        assertEquals(1, index.size());
+        assertEquals(2, index.getTokenCount()); // desert, dunes: emptied tokens are dropped
+    }
+
+    @Test
+    public void matchesReferenceAfterRandomChanges() {
+        Random random = new Random(1);
+        InvertedIndex index = new InvertedIndex();
+        Map<Integer, String> docs = new HashMap<>();
+
+        for (int step = 0; step < 5000; step++) {
+            int id = random.nextInt(800);
+            if (random.nextInt(5) == 0) {
+                assertEquals(docs.remove(id) != null, index.remove(id));
+            } else {
+                String text = randomText(random, 1 + random.nextInt(6));
+                docs.put(id, text);
+                index.put(id, text);
+            }
+            if (step % 50 == 0) {
+                String query = randomText(random, 1 + random.nextInt(2));
+                query = query.substring(0, 1 + random.nextInt(query.length())); // Partly typed
+                assertArrayEquals(query, reference(docs, query), index.search(query));
+                assertArrayEquals(query, reference(docs, query), scan(docs, query));
+            }
+        }
+        assertEquals(docs.size(), index.size());
+    }
+
+    @Test
+    public void benchmarkAgainstScan() {
+        int count = 100_000;
+        Random random = new Random(2);
+        List<String> titles = new ArrayList<>(count);
+        List<String> descriptions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            titles.add((i % 3 == 0 ? "Photo " : "Amazing Photo ") + i);
+            descriptions.add("This is a detailed description for photo number " + i + ". " + randomText(random, 8));
+        }
+        InvertedIndex index = new InvertedIndex();
+        long buildStart = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            index.put(i, titles.get(i), descriptions.get(i));
+        }
+        double buildMs = (System.nanoTime() - buildStart) / 1e6;
+
+        String[] queries = {"12345", "amazing 9999", "hôn biển", "sunset mountain night", "desc"};
+        System.out.printf("InvertedIndex: %d docs, %d tokens, built in %.0f ms%n",
+                count, index.getTokenCount(), buildMs);
+        for (String query : queries) {
+            int matches = 0;
+            for (int i = 0; i < 20; i++) { // Warmup
+                matches = index.search(query).length;
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                index.search(query);
+            }
+            double indexMs = (System.nanoTime() - start) / 1e6 / 100;
+
+            // The old searchGood: lowercase + contains on every photo
+            String lowerQuery = query.toLowerCase();
+            long scanStart = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                if (titles.get(i).toLowerCase().contains(lowerQuery)
+                        || descriptions.get(i).toLowerCase().contains(lowerQuery)) {
+                    matches += 0;
+                }
+            }
+            double scanMs = (System.nanoTime() - scanStart) / 1e6;
+            System.out.printf("  %-24s %7d matches  index %8.3f ms   scan %8.1f ms%n",
+                    "\"" + query + "\"", matches, indexMs, scanMs);
+        }
+    }
+}
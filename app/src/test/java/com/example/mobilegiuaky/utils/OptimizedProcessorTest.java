@@ -0,0 +1,272 @@
+package com.example.mobilegiuaky.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Grayscale + gamma kernel: exact match with HeavyProcessor.heavyImageProcessing's
+ * per-pixel math, plus megapixels/second on int[] ARGB buffers.
+ * Radix sort / top-K: results against Arrays.sort, plus timings against
+ * efficientSort and parallelSort.
+ */
+public class OptimizedProcessorTest {
+
+    private static final int BENCH_WIDTH = 2048;
+    private static final int BENCH_HEIGHT = 1536; // ~3.1 MP
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    /**
+     * HeavyProcessor's loop on an int[] instead of a Bitmap: column by column,
+     * Math.pow per pixel, Color.rgb(gray, gray, gray) output
+     */
+    private static void reference(int[] src, int[] dst, int width, int height) {
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int pixel = src[y * width + x];
+                int red = (pixel >> 16) & 0xFF;
+                int green = (pixel >> 8) & 0xFF;
+                int blue = pixel & 0xFF;
+                int gray = (red + green + blue) / 3;
+                double brightness = Math.pow(gray / 255.0, 0.8) * 255;
+                gray = (int) brightness;
+                dst[y * width + x] = 0xFF000000 | (gray << 16) | (gray << 8) | gray;
+            }
+        }
+    }
+
+    private static int[] randomImage(int width, int height, long seed) {
+        Random random = new Random(seed);
+        int[] pixels = new int[width * height];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = random.nextInt(); // Random alpha too: output alpha must still be 0xFF
+        }
+        return pixels;
+    }
+
+    @Test
+    public void everyGrayLevelMatchesTheReference() {
+        // All 256 * 3 channel sums, including the ones that hit rounding edges in pow()
+        int[] src = new int[766];
+        for (int sum = 0; sum <= 765; sum++) {
+            int r = Math.min(sum, 255);
+            int g = Math.min(sum - r, 255);
+            int b = sum - r - g;
+            src[sum] = (0x80 << 24) | (r << 16) | (g << 8) | b;
+        }
+        int[] expected = new int[src.length];
+        int[] actual = new int[src.length];
+        reference(src, expected, src.length, 1);
+        OptimizedProcessor.grayscaleGamma(src, actual, src.length, 1);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void parallelStripesMatchTheReference() {
+        // Odd sizes so stripes do not divide evenly; tall enough to be split
+        int[][] sizes = {{1, 1}, {7, 3}, {333, 517}, {1000, 1001}, {4097, 65}};
+        for (int[] size : sizes) {
+            int[] src = randomImage(size[0], size[1], size[0] * 31L + size[1]);
+            int[] expected = new int[src.length];
+            int[] actual = new int[src.length];
+            reference(src, expected, size[0], size[1]);
+            OptimizedProcessor.grayscaleGamma(src, actual, size[0], size[1]);
+            assertArrayEquals(size[0] + "x" + size[1], expected, actual);
+        }
+    }
+
+    @Test
+    public void inPlaceMatchesTheReference() {
+        int[] src = randomImage(640, 480, 7);
+        int[] expected = new int[src.length];
+        reference(src, expected, 640, 480);
+        OptimizedProcessor.grayscaleGamma(src, src, 640, 480);
+        assertArrayEquals(expected, src);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsShortBuffers() {
+        OptimizedProcessor.grayscaleGamma(new int[10], new int[10], 4, 3);
+    }
+
+    @Test
+    public void benchmarkMegapixelsPerSecond() {
+        int width = BENCH_WIDTH;
+        int height = BENCH_HEIGHT;
+        int[] src = randomImage(width, height, 42);
+        int[] dst = new int[src.length];
+        double megapixels = width * (double) height / 1_000_000;
+
+        double referenceMs = time(() -> reference(src, dst, width, height));
+        int[] expected = dst.clone();
+        double lutMs = time(() -> OptimizedProcessor.grayscaleGammaRows(src, dst, width, 0, height));
+        assertArrayEquals(expected, dst);
+        double parallelMs = time(() -> OptimizedProcessor.grayscaleGamma(src, dst, width, height));
+        assertArrayEquals(expected, dst);
+
+        System.out.printf("grayscale+gamma %dx%d (%.1f MP), %d cores%n",
+                width, height, megapixels, Runtime.getRuntime().availableProcessors());
+        System.out.printf("  reference (column order, Math.pow): %8.2f ms  %8.1f MP/s%n",
+                referenceMs, megapixels / referenceMs * 1000);
+        System.out.printf("  LUT, row order, 1 thread:           %8.2f ms  %8.1f MP/s%n",
+                lutMs, megapixels / lutMs * 1000);
+        System.out.printf("  LUT, fork-join stripes:             %8.2f ms  %8.1f MP/s%n",
+                parallelMs, megapixels / parallelMs * 1000);
+
+        assertTrue("LUT kernel slower than the reference", lutMs < referenceMs);
+    }
+
+    private static int[] randomInts(int size, int bound, long seed) {
+        Random random = new Random(seed);
+        int[] data = new int[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = bound > 0 ? random.nextInt(bound) : random.nextInt();
+        }
+        return data;
+    }
+
+    @Test
+    public void radixSortMatchesArraysSort() {
+        int[][] inputs = {
+                {},
+                {5},
+                new int[1000], // All equal
+                randomInts(100_000, 10_000, 1), // generateLargeDataset range: counting sort
+                randomInts(100_000, 5_000_000, 2), // 3 radix passes
+                randomInts(100_000, 0, 3), // Full int range, negatives included
+                {Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1, 1, Integer.MIN_VALUE, Integer.MAX_VALUE},
+        };
+        int[] mixed = randomInts(5000, 0, 4); // Radix path with both extremes
+        mixed[0] = Integer.MIN_VALUE;
+        mixed[1] = Integer.MAX_VALUE;
+
+        List<int[]> all = new ArrayList<>(Arrays.asList(inputs));
+        all.add(mixed);
+        for (int[] input : all) {
+            int[] copy = input.clone();
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, OptimizedProcessor.radixSort(input));
+            assertArrayEquals("input must not change", copy, input);
+        }
+    }
+
+    @Test
+    public void topKReturnsLargestFirst() {
+        int[] data = randomInts(50_000, 10_000, 5);
+        int[] sorted = data.clone();
+        Arrays.sort(sorted);
+
+        for (int k : new int[]{0, 1, 10, 1000, 50_000, 60_000}) {
+            int expectedLength = Math.min(k, data.length);
+            int[] expected = new int[expectedLength];
+            for (int i = 0; i < expectedLength; i++) {
+                expected[i] = sorted[sorted.length - 1 - i];
+            }
+            assertArrayEquals("k=" + k, expected, OptimizedProcessor.topK(data, k));
+        }
+    }
+
+    @Test
+    public void topKOfObjectsUsesTheComparator() {
+        // Stand-in for Photo: {id, fileSizeKb}
+        List<int[]> photos = new ArrayList<>();
+        int[] sizes = randomInts(2000, 300, 6); // Many equal sizes
+        for (int i = 0; i < sizes.length; i++) {
+            photos.add(new int[]{i, sizes[i]});
+        }
+        Comparator<int[]> bySize = Comparator.comparingInt(photo -> photo[1]);
+
+        List<int[]> top = OptimizedProcessor.topK(photos, 25, bySize);
+        List<int[]> expected = new ArrayList<>(photos);
+        expected.sort(bySize.reversed());
+
+        assertEquals(25, top.size());
+        for (int i = 0; i < 25; i++) {
+            assertEquals("rank " + i, expected.get(i)[1], top.get(i)[1]);
+        }
+    }
+
+    @Test
+    public void partialSortPutsSmallestFirst() {
+        int[] data = randomInts(20_000, 1000, 7);
+        int[] sorted = data.clone();
+        Arrays.sort(sorted);
+
+        int[] work = data.clone();
+        OptimizedProcessor.partialSort(work, 100);
+        assertArrayEquals(Arrays.copyOf(sorted, 100), Arrays.copyOf(work, 100));
+        Arrays.sort(work);
+        assertArrayEquals("still a permutation", sorted, work);
+    }
+
+    @Test
+    public void selectSurvivesAdversarialInput() {
+        // Sorted, reversed and organ-pipe inputs defeat naive pivots
+        int n = 100_000;
+        int[][] inputs = new int[3][n];
+        for (int i = 0; i < n; i++) {
+            inputs[0][i] = i;
+            inputs[1][i] = n - i;
+            inputs[2][i] = i < n / 2 ? i : n - i;
+        }
+        for (int[] input : inputs) {
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            int[] work = input.clone();
+            OptimizedProcessor.select(work, 0, n, n / 3);
+            assertEquals(expected[n / 3], work[n / 3]);
+        }
+    }
+
+    @Test
+    public void benchmarkSorting() {
+        System.out.printf("%-10s %12s %12s %12s %12s %12s%n",
+                "n", "efficient", "parallel", "radix", "topK(100)", "partial(100)");
+        for (int n : new int[]{1_000, 10_000, 100_000, 1_000_000}) {
+            int[] data = HeavyProcessorData.generateLargeDataset(n);
+            double efficientMs = time(() -> OptimizedProcessor.efficientSort(data));
+            double parallelMs = time(() -> OptimizedProcessor.parallelSort(data));
+            double radixMs = time(() -> OptimizedProcessor.radixSort(data));
+            double topKMs = time(() -> OptimizedProcessor.topK(data, 100));
+            double partialMs = time(() -> OptimizedProcessor.partialSort(data.clone(), 100));
+            System.out.printf("%-10d %9.3f ms %9.3f ms %9.3f ms %9.3f ms %9.3f ms%n",
+                    n, efficientMs, parallelMs, radixMs, topKMs, partialMs);
+        }
+
+        int[] sizes = randomInts(1_000_000, 0, 8);
+        double efficientMs = time(() -> OptimizedProcessor.efficientSort(sizes));
+        double radixMs = time(() -> OptimizedProcessor.radixSort(sizes));
+        System.out.printf("full int range, n=1000000: efficient %.3f ms, radix %.3f ms%n", efficientMs, radixMs);
+    }
+
+    /**
+     * HeavyProcessor.generateLargeDataset without android.graphics on the classpath
+     */
+    private static final class HeavyProcessorData {
+        static int[] generateLargeDataset(int size) {
+            return randomInts(size, 10000, size);
+        }
+    }
+
+    // Best of MEASURED_ROUNDS after warmup, in ms
+    private static double time(Runnable task) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            task.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
@@ -16,7 +16,18 @@ CREATE TABLE IF NOT EXISTS photos (
     file_name VARCHAR(255),
     file_size_kb INT,
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
-    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    -- Keyset pagination index (ORDER BY created_at DESC, id DESC)
+    INDEX idx_photos_created_id (created_at, id),
+    -- Catalog version / ETag lookup (MAX(updated_at))
+    INDEX idx_photos_updated (updated_at)
+);
+
+-- Tombstones for deleted photos (delta sync: GET /api/photos/changes)
+CREATE TABLE IF NOT EXISTS photo_tombstones (
+    photo_id INT PRIMARY KEY,
+    deleted_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_tombstones_deleted (deleted_at)
 );
 
 -- Insert sample data (100 photos for performance testing)
@@ -2,26 +2,103 @@
  * Node.js Backend Server for Android Performance Demo
  * 
  * This server provides REST API for photo data:
- * - GET /api/photos - Get all photos
+ * - GET /api/photos - Get all photos (or one page with ?limit=&after=, fewer columns with ?fields=)
+ * - GET /api/photos/changes?since= - Rows changed and ids deleted since a sync point
  * - GET /api/photos/:id - Get single photo
  * - POST /api/photos - Create new photo
+ * - POST /api/photos/batch - Create many photos at once
+ * - DELETE /api/photos/batch - Delete many photos at once
  * - DELETE /api/photos/:id - Delete photo
+ * - GET /api/events - Server-Sent Events stream of creates/deletes
+ * - GET /thumbs/:width/:file - Resized copy of a file in public/images
  */
 
 const express = require('express');
 const cors = require('cors');
 const mysql = require('mysql2/promise');
 const path = require('path');
+const fs = require('fs');
 
 const app = express();
 const PORT = 3000;
 
 // Middleware
 app.use(cors());
-app.use(express.json());
+app.use(express.json({ limit: '1mb' })); // Room for batch requests
 
 // Serve static images from public/images folder
-app.use('/images', express.static(path.join(__dirname, 'public/images')));
+const IMAGES_DIR = path.join(__dirname, 'public/images');
+app.use('/images', express.static(IMAGES_DIR));
+
+// Thumbnails: a fixed set of widths, so the cache stays small and clients share variants
+const THUMB_WIDTHS = [120, 240, 360, 480, 720, 1080];
+const THUMB_CACHE_DIR = path.join(__dirname, 'cache/thumbs');
+const thumbJobs = new Map(); // cache path -> Promise, so concurrent requests resize once
+
+// sharp is optional: without it /thumbs redirects to the original
+let sharp;
+function getSharp() {
+    if (sharp === undefined) {
+        try {
+            sharp = require('sharp');
+        } catch (e) {
+            sharp = null;
+            console.log('⚠️ sharp not installed - /thumbs will serve originals (npm install sharp)');
+        }
+    }
+    return sharp;
+}
+
+// Resize into the cache unless a variant newer than the original is there
+async function ensureThumbnail(source, target, width) {
+    const [sourceStat, targetStat] = await Promise.all([
+        fs.promises.stat(source),
+        fs.promises.stat(target).catch(() => null)
+    ]);
+    if (targetStat && targetStat.mtimeMs >= sourceStat.mtimeMs) {
+        return;
+    }
+
+    let job = thumbJobs.get(target);
+    if (!job) {
+        const tmp = `${target}.${process.pid}.tmp`;
+        job = fs.promises.mkdir(path.dirname(target), { recursive: true })
+            .then(() => getSharp()(source).rotate().resize({ width, withoutEnlargement: true }).toFile(tmp))
+            .then(() => fs.promises.rename(tmp, target)) // Never serve a half-written file
+            .finally(() => thumbJobs.delete(target));
+        thumbJobs.set(target, job);
+    }
+    await job;
+}
+
+app.get('/thumbs/:width/:file', async (req, res) => {
+    const width = parseInt(req.params.width, 10);
+    const file = req.params.file;
+
+    if (!THUMB_WIDTHS.includes(width)) {
+        return res.status(400).json({ error: `width must be one of ${THUMB_WIDTHS.join(', ')}` });
+    }
+    if (file !== path.basename(file) || file.startsWith('.')) {
+        return res.status(400).json({ error: 'Invalid file name' });
+    }
+
+    const source = path.join(IMAGES_DIR, file);
+    if (!fs.existsSync(source)) {
+        return res.status(404).json({ error: 'Image not found' });
+    }
+    if (!getSharp()) {
+        return res.redirect(302, `/images/${encodeURIComponent(file)}`);
+    }
+
+    const target = path.join(THUMB_CACHE_DIR, String(width), file);
+    try {
+        await ensureThumbnail(source, target, width);
+        res.sendFile(target, { maxAge: '1d' }); // Handles ETag/Last-Modified and Range
+    } catch (error) {
+        console.error('Thumbnail error:', error);
+        res.status(500).json({ error: 'Cannot create thumbnail' });
+    }
+});
 
 // MySQL Connection Configuration
 const dbConfig = {
@@ -36,6 +113,30 @@ const dbConfig = {
 
 let pool;
 
+// Catalog version - bumped on every write so list ETags change
+let catalogVersion = 0;
+const bootId = Date.now().toString(36);
+
+// Max rows per batch create/delete request
+const MAX_BATCH_SIZE = 500;
+
+// Keyset pagination settings
+const DEFAULT_PAGE_SIZE = 20;
+const MAX_PAGE_SIZE = 100;
+
+// Server-Sent Events: connected clients + recent events for Last-Event-ID replay
+const sseClients = new Set(); // { res, fields }
+const MAX_RECENT_EVENTS = 500;
+const SSE_HEARTBEAT_MS = 25000;
+const SSE_RETRY_MS = 3000;
+let recentEvents = []; // { seq, upserts, deleted }
+let eventSeq = 0;
+
+// Field projection (?fields=) - columns a client may ask for, plus the virtual "summary"
+const PHOTO_FIELDS = ['id', 'title', 'description', 'summary', 'image_url', 'file_name', 'file_size_kb', 'created_at', 'updated_at'];
+const ALWAYS_INCLUDED_FIELDS = ['id', 'created_at']; // Row identity + feed order / cursor key
+const SUMMARY_LENGTH = 120;
+
 // Initialize Database Connection
 async function initializeDatabase() {
     try {
@@ -57,6 +158,7 @@ async function initializeDatabase() {
 
 // In-memory demo data (fallback when MySQL is not available)
 let demoPhotos = generateDemoPhotos(100);
+let demoTombstones = []; // { id, deleted_at } - lets delta sync report deletes
 
 function generateDemoPhotos(count) {
     const photos = [];
@@ -90,21 +192,443 @@ function generateDemoPhotos(count) {
     return photos;
 }
 
+// Field projection helpers
+// Returns null for "all fields", an array of field names, or { error } for unknown names
+function parseFields(query) {
+    if (query.fields === undefined) return null;
+    const requested = String(query.fields).split(',').map(f => f.trim()).filter(f => f.length > 0);
+    const unknown = requested.filter(f => !PHOTO_FIELDS.includes(f));
+    if (unknown.length > 0) {
+        return { error: `Unknown fields: ${unknown.join(', ')}` };
+    }
+    // Keep the canonical order so the same projection always yields the same ETag
+    return PHOTO_FIELDS.filter(f => requested.includes(f) || ALWAYS_INCLUDED_FIELDS.includes(f));
+}
+
+// SELECT list for a projection (names are whitelisted above, so they are safe to inline)
+function selectColumns(fields) {
+    if (!fields) return '*';
+    return fields.map(f => f === 'summary'
+        ? `CASE WHEN CHAR_LENGTH(description) > ${SUMMARY_LENGTH} ` +
+          `THEN CONCAT(LEFT(description, ${SUMMARY_LENGTH}), '…') ELSE description END AS summary`
+        : f
+    ).join(', ');
+}
+
+function summarize(description) {
+    if (description == null) return description;
+    return description.length > SUMMARY_LENGTH ? description.slice(0, SUMMARY_LENGTH) + '…' : description;
+}
+
+// Same projection for in-memory demo rows
+function projectPhoto(photo, fields) {
+    if (!fields) return photo;
+    const projected = {};
+    fields.forEach(f => {
+        projected[f] = f === 'summary' ? summarize(photo.description) : photo[f];
+    });
+    return projected;
+}
+
+// Binary wire format (PHB1) - sent when the client's Accept prefers it over JSON.
+// Layout is documented in the Android app's PhotoBinaryFormat.java.
+const PHOTO_BINARY_TYPE = 'application/x-photobin';
+const BINARY_KIND_LIST = 1;
+const BINARY_KIND_PAGE = 2;
+// Field mask bits - a field is left out of a record when it is null / not projected
+const BINARY_FIELDS = {
+    title: 1, description: 1 << 1, summary: 1 << 2, image_url: 1 << 3,
+    file_name: 1 << 4, file_size_kb: 1 << 5, created_at: 1 << 6, updated_at: 1 << 7
+};
+
+function wantsBinary(req) {
+    return !!req.get('Accept') && req.accepts(['application/json', PHOTO_BINARY_TYPE]) === PHOTO_BINARY_TYPE;
+}
+
+class BinaryWriter {
+    constructor(capacity) {
+        this.buffer = Buffer.allocUnsafe(Math.max(capacity, 64));
+        this.size = 0;
+    }
+
+    ensure(extra) {
+        if (this.size + extra > this.buffer.length) {
+            const grown = Buffer.allocUnsafe(Math.max(this.buffer.length * 2, this.size + extra));
+            this.buffer.copy(grown, 0, 0, this.size);
+            this.buffer = grown;
+        }
+    }
+
+    byte(b) {
+        this.ensure(1);
+        this.buffer[this.size++] = b;
+    }
+
+    header(kind) {
+        this.ensure(5);
+        this.size += this.buffer.write('PHB1', this.size, 'latin1');
+        this.byte(kind);
+    }
+
+    // Arithmetic instead of bit ops: timestamps do not fit in 32 bits
+    varint(n) {
+        this.ensure(10);
+        while (n >= 0x80) {
+            this.buffer[this.size++] = (n % 0x80) | 0x80;
+            n = Math.floor(n / 0x80);
+        }
+        this.buffer[this.size++] = n;
+    }
+
+    zigzag(n) {
+        this.varint(n >= 0 ? n * 2 : -n * 2 - 1);
+    }
+
+    string(value) {
+        const length = Buffer.byteLength(value);
+        this.varint(length);
+        this.ensure(length);
+        this.size += this.buffer.write(value, this.size);
+    }
+
+    nullableString(value) {
+        if (value == null) return this.varint(0);
+        const length = Buffer.byteLength(value);
+        this.varint(length + 1);
+        this.ensure(length);
+        this.size += this.buffer.write(value, this.size);
+    }
+
+    toBuffer() {
+        return this.buffer.subarray(0, this.size);
+    }
+}
+
+function toMillis(value) {
+    if (value == null) return NaN;
+    return new Date(value).getTime();
+}
+
+function writeBinaryPhotos(out, photos) {
+    // Prefix table: image URLs without their trailing digits ("...?random=")
+    const prefixIndex = new Map();
+    photos.forEach(p => {
+        const prefix = p.image_url != null ? String(p.image_url).replace(/\d+$/, '') : '';
+        if (prefix && !prefixIndex.has(prefix)) prefixIndex.set(prefix, prefixIndex.size + 1);
+    });
+    out.varint(prefixIndex.size);
+    prefixIndex.forEach((index, prefix) => out.string(prefix));
+
+    out.varint(photos.length);
+    let previousId = 0;
+    let previousCreated = 0;
+    let previousUpdated = 0;
+    photos.forEach(p => {
+        const created = toMillis(p.created_at);
+        const updated = toMillis(p.updated_at);
+        let mask = 0;
+        Object.keys(BINARY_FIELDS).forEach(field => {
+            if (p[field] != null) mask |= BINARY_FIELDS[field];
+        });
+        if (isNaN(created)) mask &= ~BINARY_FIELDS.created_at;
+        if (isNaN(updated)) mask &= ~BINARY_FIELDS.updated_at;
+
+        out.varint(mask);
+        out.zigzag(p.id - previousId);
+        previousId = p.id;
+        if (mask & BINARY_FIELDS.title) out.string(String(p.title));
+        if (mask & BINARY_FIELDS.description) out.string(String(p.description));
+        if (mask & BINARY_FIELDS.summary) out.string(String(p.summary));
+        if (mask & BINARY_FIELDS.image_url) {
+            const url = String(p.image_url);
+            const prefix = url.replace(/\d+$/, '');
+            out.varint(prefix ? prefixIndex.get(prefix) : 0);
+            out.string(url.slice(prefix.length));
+        }
+        if (mask & BINARY_FIELDS.file_name) out.string(String(p.file_name));
+        if (mask & BINARY_FIELDS.file_size_kb) out.zigzag(Number(p.file_size_kb) || 0);
+        if (mask & BINARY_FIELDS.created_at) {
+            out.zigzag(created - previousCreated);
+            previousCreated = created;
+        }
+        if (mask & BINARY_FIELDS.updated_at) {
+            out.zigzag(updated - previousUpdated);
+            previousUpdated = updated;
+        }
+    });
+}
+
+function encodeBinaryList(photos) {
+    const out = new BinaryWriter(photos.length * 64 + 64);
+    out.header(BINARY_KIND_LIST);
+    writeBinaryPhotos(out, photos);
+    return out.toBuffer();
+}
+
+function encodeBinaryPage(page) {
+    const out = new BinaryWriter(page.items.length * 64 + 64);
+    out.header(BINARY_KIND_PAGE);
+    out.byte(page.has_more ? 1 : 0);
+    out.nullableString(page.next_cursor);
+    out.nullableString(page.server_time);
+    writeBinaryPhotos(out, page.items);
+    return out.toBuffer();
+}
+
+// Conditional GET helpers
+// ETag describes the whole catalog, so an unchanged first page means no page changed.
+// serverTime is the sync point clients pass to /api/photos/changes later.
+async function getCatalogState() {
+    if (pool) {
+        const [[stats]] = await pool.query(
+            'SELECT COUNT(*) AS total, MAX(id) AS max_id, MAX(updated_at) AS last_update, NOW() AS now FROM photos'
+        );
+        const lastUpdate = stats.last_update ? new Date(stats.last_update).getTime() : 0;
+        return {
+            etag: `W/"${stats.total}-${stats.max_id || 0}-${lastUpdate}-${catalogVersion}"`,
+            serverTime: new Date(stats.now).toISOString()
+        };
+    }
+    return { etag: `W/"${bootId}-${catalogVersion}"`, serverTime: new Date().toISOString() };
+}
+
+function etagMatches(ifNoneMatch, etag) {
+    if (!ifNoneMatch) return false;
+    const opaque = tag => tag.trim().replace(/^W\//, '');
+    return ifNoneMatch.split(',').some(tag => tag.trim() === '*' || opaque(tag) === opaque(etag));
+}
+
+// Sets ETag and answers 304 when the client already has this catalog version
+// in the same projection and encoding (a list without descriptions must not validate a full one)
+async function sendNotModifiedIfFresh(req, res, fields) {
+    const state = await getCatalogState();
+    const { serverTime } = state;
+    let etag = fields ? state.etag.replace(/"$/, `;${fields.join(',')}"`) : state.etag;
+    if (wantsBinary(req)) etag = etag.replace(/"$/, ';bin"');
+    res.vary('Accept');
+    res.locals.serverTime = serverTime;
+    res.set('ETag', etag);
+    res.set('Cache-Control', 'no-cache');
+    if (etagMatches(req.headers['if-none-match'], etag)) {
+        res.status(304).end();
+        return true;
+    }
+    return false;
+}
+
+// Delta sync: remember deleted ids so /api/photos/changes can report them
+async function recordTombstones(ids) {
+    if (ids.length === 0) return;
+    if (pool) {
+        try {
+            await pool.query(
+                'INSERT INTO photo_tombstones (photo_id) VALUES ? ON DUPLICATE KEY UPDATE deleted_at = CURRENT_TIMESTAMP',
+                [ids.map(id => [id])]
+            );
+        } catch (error) {
+            // The delete itself succeeded; clients fall back to a full reload
+            console.error('Error recording tombstones:', error.message);
+        }
+    } else {
+        const deletedAt = new Date().toISOString();
+        demoTombstones = demoTombstones.filter(t => !ids.includes(t.id));
+        ids.forEach(id => demoTombstones.push({ id, deleted_at: deletedAt }));
+    }
+}
+
+// Push helpers (SSE)
+// Event ids are "<bootId>.<seq>", so ids from before a restart are recognised as stale.
+function writeSseEvent(client, event) {
+    const data = {
+        upserts: event.upserts.map(p => projectPhoto(p, client.fields)),
+        deleted: event.deleted
+    };
+    client.res.write(`id: ${bootId}.${event.seq}\nevent: changes\ndata: ${JSON.stringify(data)}\n\n`);
+}
+
+// Call after every successful write - one small event instead of a catalog reload per client
+function broadcastChanges(upserts, deleted) {
+    const event = { seq: ++eventSeq, upserts, deleted };
+    recentEvents.push(event);
+    if (recentEvents.length > MAX_RECENT_EVENTS) {
+        recentEvents = recentEvents.slice(-MAX_RECENT_EVENTS);
+    }
+    sseClients.forEach(client => writeSseEvent(client, event));
+}
+
+// Events after lastEventId, or null when they are no longer buffered (client must resync)
+function eventsSince(lastEventId) {
+    const [boot, seq] = String(lastEventId || '').split('.');
+    const lastSeq = parseInt(seq);
+    if (boot !== bootId || isNaN(lastSeq) || lastSeq > eventSeq) return null;
+    const oldestSeq = recentEvents.length > 0 ? recentEvents[0].seq : eventSeq + 1;
+    if (lastSeq < oldestSeq - 1) return null;
+    return recentEvents.filter(e => e.seq > lastSeq);
+}
+
+// Pagination helpers
+// Cursor = base64url("<created_at ISO>|<id>") of the last row of the previous page
+function encodeCursor(photo) {
+    const createdAt = new Date(photo.created_at).toISOString();
+    return Buffer.from(`${createdAt}|${photo.id}`).toString('base64url');
+}
+
+function decodeCursor(cursor) {
+    const [createdAt, id] = Buffer.from(cursor, 'base64url').toString().split('|');
+    const date = new Date(createdAt);
+    const photoId = parseInt(id);
+    if (isNaN(date.getTime()) || isNaN(photoId)) {
+        return null;
+    }
+    return { createdAt: date, id: photoId };
+}
+
+// Same order as the SQL query: created_at DESC, id DESC
+function comparePhotosDesc(a, b) {
+    const diff = new Date(b.created_at) - new Date(a.created_at);
+    return diff !== 0 ? diff : b.id - a.id;
+}
+
+// GET /api/photos?limit=&after= - one page of photos, newest first (db = null -> demo data)
+async function sendPhotoPage(req, res, fields, db = pool) {
+    const limit = Math.min(Math.max(parseInt(req.query.limit) || DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+    const cursor = req.query.after ? decodeCursor(req.query.after) : null;
+
+    if (req.query.after && !cursor) {
+        return res.status(400).json({ error: 'Invalid cursor' });
+    }
+
+    let rows;
+    if (db) {
+        // Fetch one extra row to know whether another page exists
+        if (cursor) {
+            [rows] = await db.query(
+                `SELECT ${selectColumns(fields)} FROM photos WHERE (created_at < ? OR (created_at = ? AND id < ?)) ` +
+                'ORDER BY created_at DESC, id DESC LIMIT ?',
+                [cursor.createdAt, cursor.createdAt, cursor.id, limit + 1]
+            );
+        } else {
+            [rows] = await db.query(
+                `SELECT ${selectColumns(fields)} FROM photos ORDER BY created_at DESC, id DESC LIMIT ?`,
+                [limit + 1]
+            );
+        }
+    } else {
+        const sorted = [...demoPhotos].sort(comparePhotosDesc);
+        const start = cursor
+            ? sorted.findIndex(p => comparePhotosDesc(p, { created_at: cursor.createdAt, id: cursor.id }) > 0)
+            : 0;
+        rows = start === -1 ? [] : sorted.slice(start, start + limit + 1).map(p => projectPhoto(p, fields));
+    }
+
+    const hasMore = rows.length > limit;
+    const items = hasMore ? rows.slice(0, limit) : rows;
+    const page = {
+        items,
+        next_cursor: hasMore ? encodeCursor(items[items.length - 1]) : null,
+        has_more: hasMore,
+        server_time: res.locals.serverTime
+    };
+    if (wantsBinary(req)) {
+        return res.type(PHOTO_BINARY_TYPE).send(encodeBinaryPage(page));
+    }
+    res.json(page);
+}
+
+function isPageRequest(req) {
+    return req.query.limit !== undefined || req.query.after !== undefined;
+}
+
+// Full list as JSON or PHB1, whichever the client asked for
+function sendPhotoList(req, res, photos) {
+    if (wantsBinary(req)) {
+        return res.type(PHOTO_BINARY_TYPE).send(encodeBinaryList(photos));
+    }
+    res.json(photos);
+}
+
 // Routes
 
-// GET /api/photos - Get all photos
+// GET /api/photos - Get all photos (?fields=id,title,summary,... for a slimmer list)
 app.get('/api/photos', async (req, res) => {
+    const fields = parseFields(req.query);
+    if (fields && fields.error) {
+        return res.status(400).json({ error: fields.error });
+    }
+
     try {
+        // Catalog unchanged since the client's copy: no query, no body
+        if (await sendNotModifiedIfFresh(req, res, fields)) {
+            return;
+        }
+
+        if (isPageRequest(req)) {
+            return await sendPhotoPage(req, res, fields);
+        }
+
+        // Sync point for delta sync (the full list has no envelope to carry it)
+        res.set('X-Server-Time', res.locals.serverTime);
+
         if (pool) {
-            const [rows] = await pool.query('SELECT * FROM photos ORDER BY created_at DESC');
-            res.json(rows);
+            const [rows] = await pool.query(
+                `SELECT ${selectColumns(fields)} FROM photos ORDER BY created_at DESC, id DESC`
+            );
+            sendPhotoList(req, res, rows);
         } else {
-            // Use demo data
-            res.json(demoPhotos);
+            // Use demo data (same order as the paginated feed)
+            sendPhotoList(req, res, [...demoPhotos].sort(comparePhotosDesc).map(p => projectPhoto(p, fields)));
         }
     } catch (error) {
         console.error('Error fetching photos:', error);
-        res.json(demoPhotos); // Fallback to demo data
+        if (res.headersSent) return;
+        // Fallback to demo data, in the shape and encoding the client asked for.
+        // Not the catalog the ETag described, so it must not validate later requests.
+        res.removeHeader('ETag');
+        if (isPageRequest(req)) {
+            return sendPhotoPage(req, res, fields, null);
+        }
+        sendPhotoList(req, res, [...demoPhotos].sort(comparePhotosDesc).map(p => projectPhoto(p, fields)));
+    }
+});
+
+// GET /api/photos/changes?since= - Delta sync: upserts + tombstones since a sync point
+// ">=" may repeat a row changed in the same second; clients merge by id so that is harmless.
+app.get('/api/photos/changes', async (req, res) => {
+    const since = req.query.since ? new Date(req.query.since) : null;
+    if (!since || isNaN(since.getTime())) {
+        return res.status(400).json({ error: 'since must be an ISO timestamp' });
+    }
+    const fields = parseFields(req.query);
+    if (fields && fields.error) {
+        return res.status(400).json({ error: fields.error });
+    }
+
+    try {
+        if (pool) {
+            // Take the next sync point before reading, so nothing committed meanwhile is skipped
+            const [[{ now }]] = await pool.query('SELECT NOW() AS now');
+            const [upserts] = await pool.query(
+                `SELECT ${selectColumns(fields)} FROM photos WHERE updated_at >= ? ORDER BY updated_at`, [since]
+            );
+            const [tombstones] = await pool.query(
+                'SELECT photo_id FROM photo_tombstones WHERE deleted_at >= ?', [since]
+            );
+            res.json({
+                upserts,
+                deleted: tombstones.map(t => t.photo_id),
+                server_time: new Date(now).toISOString()
+            });
+        } else {
+            const serverTime = new Date().toISOString();
+            res.json({
+                upserts: demoPhotos.filter(p => new Date(p.updated_at) >= since).map(p => projectPhoto(p, fields)),
+                deleted: demoTombstones.filter(t => new Date(t.deleted_at) >= since).map(t => t.id),
+                server_time: serverTime
+            });
+        }
+    } catch (error) {
+        console.error('Error fetching changes:', error);
+        res.status(500).json({ error: 'Database error' });
     }
 });
 
@@ -149,6 +673,8 @@ app.post('/api/photos', async (req, res) => {
             );
             
             const [newPhoto] = await pool.query('SELECT * FROM photos WHERE id = ?', [result.insertId]);
+            catalogVersion++;
+            broadcastChanges(newPhoto, []);
             res.status(201).json(newPhoto[0]);
         } else {
             // Add to demo data
@@ -164,6 +690,8 @@ app.post('/api/photos', async (req, res) => {
                 updated_at: new Date().toISOString()
             };
             demoPhotos.unshift(newPhoto);
+            catalogVersion++;
+            broadcastChanges([newPhoto], []);
             res.status(201).json(newPhoto);
         }
     } catch (error) {
@@ -172,6 +700,102 @@ app.post('/api/photos', async (req, res) => {
     }
 });
 
+// POST /api/photos/batch - Create many photos with one multi-row INSERT
+// Body: { photos: [{ title, description, image_url, file_name, file_size_kb }, ...] }
+app.post('/api/photos/batch', async (req, res) => {
+    const photos = req.body && req.body.photos;
+
+    if (!Array.isArray(photos) || photos.length === 0) {
+        return res.status(400).json({ error: 'photos must be a non-empty array' });
+    }
+    if (photos.length > MAX_BATCH_SIZE) {
+        return res.status(400).json({ error: `At most ${MAX_BATCH_SIZE} photos per batch` });
+    }
+    if (photos.some(p => !p || !p.title || !p.image_url)) {
+        return res.status(400).json({ error: 'Title and image_url are required for every photo' });
+    }
+
+    try {
+        if (pool) {
+            const values = photos.map(p => [
+                p.title, p.description || '', p.image_url, p.file_name || '', p.file_size_kb || 0
+            ]);
+            const [result] = await pool.query(
+                'INSERT INTO photos (title, description, image_url, file_name, file_size_kb) VALUES ?',
+                [values]
+            );
+
+            // A multi-row INSERT gets consecutive auto-increment ids starting at insertId
+            const [created] = await pool.query(
+                'SELECT * FROM photos WHERE id >= ? ORDER BY id LIMIT ?',
+                [result.insertId, result.affectedRows]
+            );
+            catalogVersion++;
+            broadcastChanges(created, []);
+            res.status(201).json(created);
+        } else {
+            let nextId = demoPhotos.reduce((max, p) => Math.max(max, p.id), 0) + 1;
+            const now = new Date().toISOString();
+            const created = photos.map(p => ({
+                id: nextId++,
+                title: p.title,
+                description: p.description || '',
+                image_url: p.image_url,
+                file_name: p.file_name || '',
+                file_size_kb: p.file_size_kb || 0,
+                created_at: now,
+                updated_at: now
+            }));
+            // Newest (highest id) first, like the single create
+            demoPhotos.unshift(...[...created].reverse());
+            catalogVersion++;
+            broadcastChanges(created, []);
+            res.status(201).json(created);
+        }
+    } catch (error) {
+        console.error('Error creating photos:', error);
+        res.status(500).json({ error: 'Database error' });
+    }
+});
+
+// DELETE /api/photos/batch - Delete many photos with one DELETE ... WHERE id IN (...)
+// Body: { ids: [1, 2, 3] }
+app.delete('/api/photos/batch', async (req, res) => {
+    const ids = req.body && req.body.ids;
+
+    if (!Array.isArray(ids) || ids.length === 0 || ids.some(id => !Number.isInteger(id))) {
+        return res.status(400).json({ error: 'ids must be a non-empty array of integers' });
+    }
+    if (ids.length > MAX_BATCH_SIZE) {
+        return res.status(400).json({ error: `At most ${MAX_BATCH_SIZE} ids per batch` });
+    }
+
+    try {
+        let deletedIds;
+        if (pool) {
+            const [existing] = await pool.query('SELECT id FROM photos WHERE id IN (?)', [ids]);
+            deletedIds = existing.map(row => row.id);
+            if (deletedIds.length > 0) {
+                await pool.query('DELETE FROM photos WHERE id IN (?)', [deletedIds]);
+            }
+        } else {
+            const idSet = new Set(ids);
+            deletedIds = demoPhotos.filter(p => idSet.has(p.id)).map(p => p.id);
+            demoPhotos = demoPhotos.filter(p => !idSet.has(p.id));
+        }
+
+        if (deletedIds.length > 0) {
+            await recordTombstones(deletedIds);
+            catalogVersion++;
+            broadcastChanges([], deletedIds);
+        }
+        res.json({ message: 'Photos deleted successfully', deleted: deletedIds.length, ids: deletedIds });
+    } catch (error) {
+        console.error('Error deleting photos:', error);
+        res.status(500).json({ error: 'Database error' });
+    }
+});
+
 // DELETE /api/photos/:id - Delete photo
 app.delete('/api/photos/:id', async (req, res) => {
     const { id } = req.params;
@@ -182,6 +806,9 @@ app.delete('/api/photos/:id', async (req, res) => {
             if (result.affectedRows === 0) {
                 return res.status(404).json({ error: 'Photo not found' });
             }
+            await recordTombstones([parseInt(id)]);
+            catalogVersion++;
+            broadcastChanges([], [parseInt(id)]);
             res.json({ message: 'Photo deleted successfully', id: parseInt(id) });
         } else {
             // Remove from demo data
@@ -190,6 +817,9 @@ app.delete('/api/photos/:id', async (req, res) => {
                 return res.status(404).json({ error: 'Photo not found' });
             }
             demoPhotos.splice(index, 1);
+            await recordTombstones([parseInt(id)]);
+            catalogVersion++;
+            broadcastChanges([], [parseInt(id)]);
             res.json({ message: 'Photo deleted successfully', id: parseInt(id) });
         }
     } catch (error) {
@@ -198,6 +828,42 @@ app.delete('/api/photos/:id', async (req, res) => {
     }
 });
 
+// GET /api/events?fields= - Server-Sent Events: "changes" events with { upserts, deleted }
+// (same shape as /api/photos/changes). Reconnects send Last-Event-ID and get the missed
+// events replayed; if they are gone, a "resync" event tells the client to delta sync.
+app.get('/api/events', (req, res) => {
+    const fields = parseFields(req.query);
+    if (fields && fields.error) {
+        return res.status(400).json({ error: fields.error });
+    }
+
+    res.set({
+        'Content-Type': 'text/event-stream',
+        'Cache-Control': 'no-cache',
+        'Connection': 'keep-alive',
+        'X-Accel-Buffering': 'no' // Do not let a proxy buffer the stream
+    });
+    res.flushHeaders();
+    res.write(`retry: ${SSE_RETRY_MS}\n\n`);
+
+    const client = { res, fields };
+    const missed = eventsSince(req.get('Last-Event-ID'));
+    if (missed) {
+        missed.forEach(event => writeSseEvent(client, event));
+    } else {
+        // Also sent on a first connect: changes since the client's last load are unknown here
+        res.write(`id: ${bootId}.${eventSeq}\nevent: resync\ndata: {}\n\n`);
+    }
+    sseClients.add(client);
+
+    // Comment lines keep idle connections open through proxies and NAT
+    const heartbeat = setInterval(() => res.write(': ping\n\n'), SSE_HEARTBEAT_MS);
+    req.on('close', () => {
+        clearInterval(heartbeat);
+        sseClients.delete(client);
+    });
+});
+
 // Health check
 app.get('/api/health', (req, res) => {
     res.json({ 
@@ -213,10 +879,18 @@ app.get('/', (req, res) => {
         message: 'Photo API Server for Android Performance Demo',
         endpoints: {
             'GET /api/photos': 'Get all photos',
+            'GET /api/photos?limit=&after=': 'Get one page of photos (cursor pagination)',
+            'GET /api/photos?fields=': 'Only the listed fields (e.g. id,title,summary,image_url,file_size_kb)',
+            'GET /api/photos (Accept: application/x-photobin)': 'Same list in the compact PHB1 binary format',
+            'GET /api/events': 'Server-Sent Events stream of photo creates/deletes',
+            'GET /api/photos/changes?since=': 'Photos changed/deleted since a sync point',
             'GET /api/photos/:id': 'Get single photo',
             'POST /api/photos': 'Create new photo',
+            'POST /api/photos/batch': 'Create many photos ({ photos: [...] })',
+            'DELETE /api/photos/batch': 'Delete many photos ({ ids: [...] })',
             'DELETE /api/photos/:id': 'Delete photo',
-            'GET /api/health': 'Health check'
+            'GET /api/health': 'Health check',
+            'GET /thumbs/:width/:file': `Resized image from /images (width: ${THUMB_WIDTHS.join(', ')})`
         }
     });
 });
@@ -230,10 +904,17 @@ async function startServer() {
         console.log(`📱 For Android Emulator, use: http://10.0.2.2:${PORT}`);
         console.log(`\n📋 Available endpoints:`);
         console.log(`   GET  /api/photos     - Get all photos`);
+        console.log(`   GET  /api/photos?limit=20&after=<cursor> - Get one page of photos`);
+        console.log(`   GET  /api/photos?fields=id,title,summary - Slim list (field projection)`);
+        console.log(`   GET  /api/photos/changes?since=<ISO> - Delta sync`);
         console.log(`   GET  /api/photos/:id - Get single photo`);
         console.log(`   POST /api/photos     - Create new photo`);
+        console.log(`   POST /api/photos/batch - Create many photos`);
+        console.log(`   DELETE /api/photos/batch - Delete many photos`);
         console.log(`   DELETE /api/photos/:id - Delete photo`);
+        console.log(`   GET  /api/events     - Live changes (Server-Sent Events)`);
         console.log(`   GET  /api/health     - Health check`);
+        console.log(`   GET  /thumbs/:width/:file - Thumbnail of an image in /images`);
     });
 }
 